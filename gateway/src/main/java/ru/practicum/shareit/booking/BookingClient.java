@@ -11,6 +11,8 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -26,13 +28,14 @@ public class BookingClient extends BaseClient {
         );
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size,
+                                              String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get("?state={state}&from={from}&size={size}" + afterParameter(after, parameters), userId, parameters);
     }
 
     public ResponseEntity<Object> setApproval(Long bookingId, Boolean approved, Long ownerId) {
@@ -43,21 +46,44 @@ public class BookingClient extends BaseClient {
         return patch(path, ownerId, parameters, null);
     }
 
+    public ResponseEntity<Object> setApprovals(List<Long> bookingIds, Boolean approved, boolean rejectOverlapping,
+                                               Long ownerId) {
+        Map<String, Object> parameters = Map.of(
+                "approved", approved,
+                "rejectOverlapping", rejectOverlapping
+        );
+        return patch("/batch?approved={approved}&rejectOverlapping={rejectOverlapping}", ownerId, parameters,
+                bookingIds);
+    }
 
     public ResponseEntity<Object> bookItem(long userId, BookingDto requestDto) {
         return post("", userId, requestDto);
     }
 
+    public ResponseEntity<Object> bookItems(long userId, List<BookingDto> requestDtos) {
+        return post("/batch", userId, requestDtos);
+    }
+
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> findBookingsOfOwner(BookingState state, Long ownerId, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> findBookingsOfOwner(BookingState state, Long ownerId, Integer from, Integer size,
+                                                      String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state.name(),
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
+        ));
+        return get("/owner?state={state}&from={from}&size={size}" + afterParameter(after, parameters), ownerId,
+                parameters);
+    }
+
+    private static String afterParameter(String after, Map<String, Object> parameters) {
+        if (after == null) {
+            return "";
+        }
+        parameters.put("after", after);
+        return "&after={after}";
     }
 }
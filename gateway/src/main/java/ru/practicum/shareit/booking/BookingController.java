@@ -10,9 +10,12 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Controller
 @RequestMapping(path = "/bookings")
@@ -26,11 +29,12 @@ public class BookingController {
     public ResponseEntity<Object> getBookings(@RequestHeader("X-Sharer-User-Id") long userId,
                                               @RequestParam(name = "state", defaultValue = "ALL") String state,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                              @RequestParam(name = "after", required = false) String after) {
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", state, userId, from, size);
-        return bookingClient.getBookings(userId, bookingState, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, after={}", state, userId, from, size, after);
+        return bookingClient.getBookings(userId, bookingState, from, size, after);
     }
 
     @PostMapping
@@ -40,6 +44,13 @@ public class BookingController {
         return bookingClient.bookItem(userId, requestDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<Object> createAll(@RequestHeader("X-Sharer-User-Id") long userId,
+                                            @RequestBody @NotEmpty @Size(max = 500) List<@Valid BookingDto> requestDtos) {
+        log.info("Creating {} bookings, userId={}", requestDtos.size(), userId);
+        return bookingClient.bookItems(userId, requestDtos);
+    }
+
     @GetMapping("/{bookingId}")
     public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") long userId,
                                              @PathVariable Long bookingId) {
@@ -55,14 +66,26 @@ public class BookingController {
         return bookingClient.setApproval(bookingId, approved, userId);
     }
 
+    @PatchMapping("/batch")
+    public ResponseEntity<Object> setBookingsApproval(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                      @RequestParam @NotNull Boolean approved,
+                                                      @RequestParam(defaultValue = "false") boolean rejectOverlapping,
+                                                      @RequestBody @NotEmpty @Size(max = 500) List<@NotNull Long> bookingIds) {
+        log.info("Set approval to {} bookings from user with id {}, rejectOverlapping={}", bookingIds.size(), userId,
+                rejectOverlapping);
+        return bookingClient.setApprovals(bookingIds, approved, rejectOverlapping, userId);
+    }
+
     @GetMapping("/owner")
     public ResponseEntity<Object> findBookingsOfOwner(@RequestParam(defaultValue = "ALL", required = false) String state,
                                                       @RequestHeader("X-Sharer-User-Id") Long userId,
                                                       @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                      @Positive @RequestParam(defaultValue = "10") int size) {
+                                                      @Positive @RequestParam(defaultValue = "10") int size,
+                                                      @RequestParam(required = false) String after) {
         BookingState bookingState = BookingState.from(state)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + state));
-        log.info("Get booking of owner with state {}, userId={}, from={}, size={}", state, userId, from, size);
-        return bookingClient.findBookingsOfOwner(bookingState, userId, from, size);
+        log.info("Get booking of owner with state {}, userId={}, from={}, size={}, after={}", state, userId, from, size,
+                after);
+        return bookingClient.findBookingsOfOwner(bookingState, userId, from, size, after);
     }
 }
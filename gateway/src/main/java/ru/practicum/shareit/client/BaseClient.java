@@ -1,14 +1,19 @@
 package ru.practicum.shareit.client;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Map;
 
+import javax.servlet.http.HttpServletResponse;
+
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestTemplate;
 
@@ -79,6 +84,39 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
     }
 
+    /**
+     * Copies the server's response to the given one as it arrives, without buffering the body.
+     */
+    protected void stream(String path, @Nullable Long userId, @Nullable Map<String, Object> parameters,
+                          HttpServletResponse response) {
+        try {
+            rest.execute(path, HttpMethod.GET,
+                    request -> {
+                        if (userId != null) {
+                            request.getHeaders().set("X-Sharer-User-Id", String.valueOf(userId));
+                        }
+                    },
+                    serverResponse -> {
+                        response.setStatus(serverResponse.getRawStatusCode());
+                        MediaType contentType = serverResponse.getHeaders().getContentType();
+                        if (contentType != null) {
+                            response.setContentType(contentType.toString());
+                        }
+                        StreamUtils.copy(serverResponse.getBody(), response.getOutputStream());
+                        return null;
+                    },
+                    parameters != null ? parameters : Map.of());
+        } catch (HttpStatusCodeException e) {
+            response.setStatus(e.getRawStatusCode());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            try {
+                response.getOutputStream().write(e.getResponseBodyAsByteArray());
+            } catch (IOException ioException) {
+                throw new UncheckedIOException(ioException);
+            }
+        }
+    }
+
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
@@ -3,15 +3,25 @@ package ru.practicum.shareit.item;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemSearchMode;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.InputStream;
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -22,7 +32,13 @@ public class ItemClient extends BaseClient {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + "/items"))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                        .requestFactory(() -> {
+                            // Imports are streamed to the server instead of being buffered in memory first
+                            HttpComponentsClientHttpRequestFactory requestFactory =
+                                    new HttpComponentsClientHttpRequestFactory();
+                            requestFactory.setBufferRequestBody(false);
+                            return requestFactory;
+                        })
                         .build()
         );
     }
@@ -46,12 +62,46 @@ public class ItemClient extends BaseClient {
         return get("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> findItemByText(String text, Long userId, int from, int size) {
+    public ResponseEntity<Object> findItemByText(String text, ItemSearchMode mode, Long userId, int from, int size) {
+        if (mode == null) {
+            Map<String, Object> parameters = Map.of(
+                    "text", text,
+                    "from", from,
+                    "size", size);
+            return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        }
         Map<String, Object> parameters = Map.of(
                 "text", text,
+                "mode", mode.name(),
                 "from", from,
                 "size", size);
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return get("/search?text={text}&mode={mode}&from={from}&size={size}", userId, parameters);
+    }
+
+    public ResponseEntity<Object> suggestNames(String prefix, Long userId) {
+        Map<String, Object> parameters = Map.of("prefix", prefix);
+        return get("/suggest?prefix={prefix}", userId, parameters);
+    }
+
+    public void exportOwnerData(Long userId, HttpServletResponse response) {
+        stream("/export", userId, null, response);
+    }
+
+    public ResponseEntity<Object> importItems(Long userId, MediaType contentType, InputStream body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        try {
+            return rest.exchange("/import", HttpMethod.POST, new HttpEntity<>(new InputStreamResource(body), headers),
+                    Object.class);
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        }
+    }
+
+    public ResponseEntity<Object> findImportJob(String jobId, Long userId) {
+        return get("/import/" + jobId, userId);
     }
 
     public ResponseEntity<Object> addComment(Long itemId, Long userId, CommentDto commentDto) {
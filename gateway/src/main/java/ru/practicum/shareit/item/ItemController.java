@@ -2,18 +2,23 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemCreateDto;
+import ru.practicum.shareit.item.dto.ItemSearchMode;
 import ru.practicum.shareit.item.dto.ItemUpdateDto;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.io.IOException;
 
 @Controller
 @RequestMapping(path = "/items")
@@ -56,11 +61,43 @@ public class ItemController {
 
     @GetMapping(value = "/search")
     public ResponseEntity<Object> searchItemByText(@NotNull @RequestParam String text,
+                                                   @RequestParam(required = false) String mode,
                                                    @PositiveOrZero @RequestParam(defaultValue = "0") int from,
                                                    @Positive @RequestParam(defaultValue = "10") int size,
                                                    @RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("Search item by text by user {}", userId);
-        return itemClient.findItemByText(text, userId, from, size);
+        ItemSearchMode searchMode = mode == null ? null : ItemSearchMode.from(mode)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown search mode: " + mode));
+        log.info("Search item by text by user {}, mode={}", userId, searchMode);
+        return itemClient.findItemByText(text, searchMode, userId, from, size);
+    }
+
+    @GetMapping(value = "/suggest")
+    public ResponseEntity<Object> suggestNames(@NotNull @RequestParam String prefix,
+                                               @RequestHeader("X-Sharer-User-Id") Long userId) {
+        log.info("Suggest item names by user {}", userId);
+        return itemClient.suggestNames(prefix, userId);
+    }
+
+    @GetMapping(value = "/export")
+    public void exportOwnerData(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                HttpServletResponse response) {
+        log.info("Export items, bookings and comments of owner {}", userId);
+        itemClient.exportOwnerData(userId, response);
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<Object> importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                              HttpServletRequest request) throws IOException {
+        log.info("Import items of owner {}", userId);
+        return itemClient.importItems(userId, MediaType.parseMediaType(request.getContentType()),
+                request.getInputStream());
+    }
+
+    @GetMapping(value = "/import/{jobId}")
+    public ResponseEntity<Object> findImportJob(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @PathVariable String jobId) {
+        log.info("Get import job {} by user {}", jobId, userId);
+        return itemClient.findImportJob(jobId, userId);
     }
 
     @PostMapping(value = "/{itemId}/comment")
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.dto;
+
+import java.util.Optional;
+
+public enum ItemSearchMode {
+	// Любая подстрока названия или описания
+	SUBSTRING,
+	// Слова запроса как префиксы слов вещи
+	FULLTEXT,
+	// Слова запроса с опечатками: до двух правок в каждом слове
+	FUZZY;
+
+	public static Optional<ItemSearchMode> from(String stringMode) {
+		for (ItemSearchMode mode : values()) {
+			if (mode.name().equalsIgnoreCase(stringMode)) {
+				return Optional.of(mode);
+			}
+		}
+		return Optional.empty();
+	}
+}
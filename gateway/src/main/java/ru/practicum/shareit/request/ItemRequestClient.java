@@ -10,6 +10,7 @@ import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.request.dto.ItemRequestCreateDto;
 
+import java.util.HashMap;
 import java.util.Map;
 
 @Service
@@ -33,15 +34,24 @@ public class ItemRequestClient extends BaseClient {
         return get("/" + requestId, userId);
     }
 
-    public ResponseEntity<Object> getUserRequestsWithAnswers(Long userId) {
-        return get("", userId);
+    public ResponseEntity<Object> getUserRequestsWithAnswers(Long userId, String after, int size) {
+        Map<String, Object> parameters = new HashMap<>(Map.of("size", size));
+        if (after == null) {
+            return get("?size={size}", userId, parameters);
+        }
+        parameters.put("after", after);
+        return get("?size={size}&after={after}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getRequestsOfOthers(Long userId, int from, int size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getRequestsOfOthers(Long userId, int from, int size, String after) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "from", from,
                 "size", size
-        );
-        return get("/all?from={from}&size={size}", userId, parameters);
+        ));
+        if (after == null) {
+            return get("/all?from={from}&size={size}", userId, parameters);
+        }
+        parameters.put("after", after);
+        return get("/all?from={from}&size={size}&after={after}", userId, parameters);
     }
 }
@@ -29,17 +29,20 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserRequestsWithAnswers(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        log.info("Get user`s requests with id {}", userId);
-        return itemRequestClient.getUserRequestsWithAnswers(userId);
+    public ResponseEntity<Object> getUserRequestsWithAnswers(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @RequestParam(required = false) String after,
+                                                             @Positive @RequestParam(defaultValue = "10") int size) {
+        log.info("Get user`s requests with id {}, size={}, after={}", userId, size, after);
+        return itemRequestClient.getUserRequestsWithAnswers(userId, after, size);
     }
 
     @GetMapping("/all")
     public ResponseEntity<Object> getRequestsOfOthers(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                       @PositiveOrZero @RequestParam(defaultValue = "0") int from,
-                                                      @Positive @RequestParam(defaultValue = "10") int size) {
-        log.info("Get requests of others by user {}", userId);
-        return itemRequestClient.getRequestsOfOthers(userId, from, size);
+                                                      @Positive @RequestParam(defaultValue = "10") int size,
+                                                      @RequestParam(required = false) String after) {
+        log.info("Get requests of others by user {}, from={}, size={}, after={}", userId, from, size, after);
+        return itemRequestClient.getRequestsOfOthers(userId, from, size, after);
     }
 
     @GetMapping("/{requestId}")
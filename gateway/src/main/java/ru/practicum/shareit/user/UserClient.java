@@ -11,6 +11,9 @@ import ru.practicum.shareit.client.BaseClient;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.util.Map;
+
 @Service
 public class UserClient extends BaseClient {
 
@@ -28,8 +31,15 @@ public class UserClient extends BaseClient {
         return post("", userCreateDto);
     }
 
-    public ResponseEntity<Object> getAllUsers() {
-        return get("");
+    public ResponseEntity<Object> getUsers(long afterId, int size) {
+        Map<String, Object> parameters = Map.of(
+                "afterId", afterId,
+                "size", size);
+        return get("?afterId={afterId}&size={size}", null, parameters);
+    }
+
+    public void exportUsers(long afterId, HttpServletResponse response) {
+        stream("/export?afterId={afterId}", null, Map.of("afterId", afterId), response);
     }
 
     public ResponseEntity<Object> updateUser(Long userId, UserUpdateDto updateDto) {
@@ -4,16 +4,21 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.UserCreateDto;
 import ru.practicum.shareit.user.dto.UserUpdateDto;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import javax.validation.constraints.Positive;
+import javax.validation.constraints.PositiveOrZero;
 
 @Slf4j
 @Controller
 @RequiredArgsConstructor
 @RequestMapping(path = "/users")
+@Validated
 public class UserController {
 
     private final UserClient userClient;
@@ -25,8 +30,17 @@ public class UserController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllUsers() {
-        return userClient.getAllUsers();
+    public ResponseEntity<Object> getUsers(@PositiveOrZero @RequestParam(defaultValue = "0") long afterId,
+                                           @Positive @RequestParam(defaultValue = "10") int size) {
+        log.info("Get users, afterId={}, size={}", afterId, size);
+        return userClient.getUsers(afterId, size);
+    }
+
+    @GetMapping(value = "/export")
+    public void exportUsers(@PositiveOrZero @RequestParam(defaultValue = "0") long afterId,
+                            HttpServletResponse response) {
+        log.info("Export users, afterId={}", afterId);
+        userClient.exportUsers(afterId, response);
     }
 
     @PatchMapping(value = "/{userId}")
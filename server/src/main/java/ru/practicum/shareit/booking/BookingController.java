@@ -1,9 +1,13 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
 
 import java.util.List;
 
@@ -20,6 +24,12 @@ public class BookingController {
         return bookingService.create(bookingDto, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BookingBatchResultDto> createAll(@RequestBody List<BookingDto> bookingDtos,
+                                                 @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return bookingService.createAll(bookingDtos, userId);
+    }
+
     @PatchMapping(value = "/{bookingId}")
     public BookingOutDto setBookingApproval(@RequestHeader("X-Sharer-User-Id") Long userId,
                                             @RequestParam Boolean approved,
@@ -27,26 +37,52 @@ public class BookingController {
         return bookingService.setBookingApproval(userId, approved, bookingId);
     }
 
+    @PatchMapping("/batch")
+    public BookingApprovalResultDto setBookingsApproval(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                        @RequestParam Boolean approved,
+                                                        @RequestParam(defaultValue = "false") boolean rejectOverlapping,
+                                                        @RequestBody List<Long> bookingIds) {
+        return bookingService.setBookingsApproval(userId, approved, bookingIds, rejectOverlapping);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingOutDto findBookingById(@PathVariable Long bookingId, @RequestHeader("X-Sharer-User-Id") Long userId) {
         return bookingService.findBookingById(bookingId, userId);
     }
 
     @GetMapping
-    public List<BookingOutDto> findBookingsOfUser(@RequestParam(defaultValue = "ALL") String state,
-                                                  @RequestHeader("X-Sharer-User-Id") Long userId,
-                                                  @RequestParam(defaultValue = "0") int from,
-                                                  @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<List<BookingOutDto>> findBookingsOfUser(@RequestParam(defaultValue = "ALL") String state,
+                                                                  @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                  @RequestParam(defaultValue = "0") int from,
+                                                                  @RequestParam(defaultValue = "10") int size,
+                                                                  @RequestParam(required = false) String after) {
         BookingState bookingState = BookingState.valueOf(state);
-        return bookingService.findBookingsOfUser(bookingState, userId, from, size);
+        List<BookingOutDto> bookings = after == null
+                ? bookingService.findBookingsOfUser(bookingState, userId, from, size)
+                : bookingService.findBookingsOfUser(bookingState, userId, after, size);
+        return withNextCursor(bookings, size);
     }
 
     @GetMapping("/owner")
-    public List<BookingOutDto> findBookingsOfOwner(@RequestParam(defaultValue = "ALL") String state,
-                                                   @RequestHeader("X-Sharer-User-Id") Long userId,
-                                                   @RequestParam(defaultValue = "0") int from,
-                                                   @RequestParam(defaultValue = "10") int size) {
+    public ResponseEntity<List<BookingOutDto>> findBookingsOfOwner(@RequestParam(defaultValue = "ALL") String state,
+                                                                   @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                   @RequestParam(defaultValue = "0") int from,
+                                                                   @RequestParam(defaultValue = "10") int size,
+                                                                   @RequestParam(required = false) String after) {
         BookingState bookingState = BookingState.valueOf(state);
-        return bookingService.findBookingsOfOwner(bookingState, userId, from, size);
+        List<BookingOutDto> bookings = after == null
+                ? bookingService.findBookingsOfOwner(bookingState, userId, from, size)
+                : bookingService.findBookingsOfOwner(bookingState, userId, after, size);
+        return withNextCursor(bookings, size);
+    }
+
+    private ResponseEntity<List<BookingOutDto>> withNextCursor(List<BookingOutDto> bookings, int size) {
+        if (bookings.isEmpty() || bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+        BookingOutDto last = bookings.get(bookings.size() - 1);
+        return ResponseEntity.ok()
+                .header(KeysetCursor.NEXT_CURSOR_HEADER, new KeysetCursor(last.getStart(), last.getId()).encode())
+                .body(bookings);
     }
 }
@@ -0,0 +1,161 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Periods occupied by WAITING and APPROVED bookings, kept as one sorted interval set per item.
+ * An item is loaded from the database on first access and patched on every status change afterwards. Patches of
+ * an item wait for its load to finish, so a booking committed while the item is loading is not lost.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingOverlapIndex {
+
+    static final Set<BookingStatus> BLOCKING_STATUSES = EnumSet.of(BookingStatus.WAITING, BookingStatus.APPROVED);
+
+    private final BookingRepository repository;
+    private final Map<Long, ItemIntervals> intervalsByItem = new ConcurrentHashMap<>();
+
+    public boolean hasConflict(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return intervalsOf(itemId).overlaps(start, end, LocalDateTime.now());
+    }
+
+    public void add(Booking booking) {
+        afterCommit(() -> intervalsByItem.computeIfPresent(booking.getItem().getId(), (itemId, intervals) -> {
+            intervals.add(new Interval(booking.getId(), booking.getStart(), booking.getEnd()));
+            return intervals;
+        }));
+    }
+
+    public void remove(Booking booking) {
+        afterCommit(() -> intervalsByItem.computeIfPresent(booking.getItem().getId(), (itemId, intervals) -> {
+            intervals.remove(booking.getId());
+            return intervals;
+        }));
+    }
+
+    public void evict(Collection<Long> itemIds) {
+        afterCommit(() -> itemIds.forEach(intervalsByItem::remove));
+    }
+
+    private ItemIntervals intervalsOf(Long itemId) {
+        ItemIntervals intervals = intervalsByItem.get(itemId);
+        if (intervals != null) {
+            return intervals;
+        }
+        // Loaded inside computeIfAbsent, so that add and remove (computeIfPresent) block until it is installed
+        return intervalsByItem.computeIfAbsent(itemId, id -> {
+            ItemIntervals loaded = new ItemIntervals();
+            repository.findByItemIdAndStatusInAndEndAfter(id, BLOCKING_STATUSES, LocalDateTime.now())
+                    .forEach(booking -> loaded.add(new Interval(booking.getId(), booking.getStart(),
+                            booking.getEnd())));
+            return loaded;
+        });
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static class Interval {
+
+        private static final Comparator<Interval> ORDER = Comparator.comparing((Interval i) -> i.start)
+                .thenComparing(i -> i.bookingId);
+
+        private final Long bookingId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+
+        Interval(Long bookingId, LocalDateTime start, LocalDateTime end) {
+            this.bookingId = bookingId;
+            this.start = start;
+            this.end = end;
+        }
+
+        Duration duration() {
+            return Duration.between(start, end);
+        }
+    }
+
+    private static class ItemIntervals {
+
+        private final NavigableSet<Interval> intervals = new TreeSet<>(Interval.ORDER);
+        private final Map<Long, Interval> byBookingId = new HashMap<>();
+        // Number of stored intervals per duration, so that the longest is known again once it is gone
+        private final NavigableMap<Duration, Integer> durations = new TreeMap<>();
+
+        synchronized void add(Interval interval) {
+            Interval previous = byBookingId.put(interval.bookingId, interval);
+            if (previous != null) {
+                untrack(previous);
+            }
+            intervals.add(interval);
+            durations.merge(interval.duration(), 1, Integer::sum);
+        }
+
+        synchronized void remove(Long bookingId) {
+            Interval interval = byBookingId.remove(bookingId);
+            if (interval != null) {
+                untrack(interval);
+            }
+        }
+
+        synchronized boolean overlaps(LocalDateTime start, LocalDateTime end, LocalDateTime now) {
+            while (!intervals.isEmpty() && !intervals.first().end.isAfter(now)) {
+                Interval expired = intervals.first();
+                byBookingId.remove(expired.bookingId);
+                untrack(expired);
+            }
+            Interval probe = new Interval(Long.MIN_VALUE, start, start);
+            Interval next = intervals.ceiling(probe);
+            if (next != null && next.start.isBefore(end)) {
+                return true;
+            }
+            // Earlier intervals may reach into the period, but not those starting before start - longest.
+            LocalDateTime horizon = start.minus(durations.isEmpty() ? Duration.ZERO : durations.lastKey());
+            Iterator<Interval> previous = intervals.headSet(probe, false).descendingIterator();
+            while (previous.hasNext()) {
+                Interval interval = previous.next();
+                if (!interval.start.isAfter(horizon)) {
+                    return false;
+                }
+                if (interval.end.isAfter(start)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void untrack(Interval interval) {
+            intervals.remove(interval);
+            durations.computeIfPresent(interval.duration(), (duration, count) -> count == 1 ? null : count - 1);
+        }
+    }
+}
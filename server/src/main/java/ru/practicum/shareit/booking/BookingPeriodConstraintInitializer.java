@@ -0,0 +1,33 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@DependsOnDatabaseInitialization
+@ConditionalOnProperty(name = "shareit.booking.period-constraint", havingValue = "true")
+public class BookingPeriodConstraintInitializer implements InitializingBean {
+
+    static final String CONSTRAINT_NAME = "ex_bookings_approved_period";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        Integer existing = jdbcTemplate.queryForObject("SELECT count(*) FROM pg_constraint WHERE conname = ?",
+                Integer.class, CONSTRAINT_NAME);
+        if (existing != null && existing > 0) {
+            return;
+        }
+        log.info("Creating exclusion constraint {} on bookings", CONSTRAINT_NAME);
+        jdbcTemplate.execute("ALTER TABLE bookings ADD CONSTRAINT " + CONSTRAINT_NAME
+                + " EXCLUDE USING gist (item_id WITH =, period WITH &&) WHERE (status = 'APPROVED')");
+    }
+}
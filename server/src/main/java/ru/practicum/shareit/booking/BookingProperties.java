@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.booking")
+public class BookingProperties {
+
+    /**
+     * Approved periods are kept disjoint by the ex_bookings_approved_period exclusion constraint (PostgreSQL only)
+     * instead of a check in the service.
+     */
+    private boolean periodConstraint;
+}
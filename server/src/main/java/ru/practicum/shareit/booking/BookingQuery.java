@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.exception.UnsupportedBookingStateException;
+import ru.practicum.shareit.pagination.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Renders the listing of bookings seen by a booker or an item owner in a given state as one SQL statement
+ * selecting booking ids, ordered by start date and id descending so that pages can be continued from a
+ * {@link KeysetCursor}.
+ */
+class BookingQuery {
+
+    private final StringBuilder sql = new StringBuilder();
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+    BookingQuery(BookingRole role, Long userId, BookingState state, LocalDateTime now) {
+        if (role == BookingRole.OWNER) {
+            sql.append("SELECT b.id FROM bookings b JOIN items i ON i.id = b.item_id WHERE i.user_id = :userId");
+        } else {
+            sql.append("SELECT b.id FROM bookings b WHERE b.booker_id = :userId");
+        }
+        parameters.put("userId", userId);
+        appendState(state, now);
+    }
+
+    BookingQuery after(KeysetCursor cursor) {
+        if (cursor != null) {
+            sql.append(" AND (b.start_date < :afterStart OR (b.start_date = :afterStart AND b.id < :afterId))");
+            parameters.put("afterStart", cursor.getTimestamp());
+            parameters.put("afterId", cursor.getId());
+        }
+        return this;
+    }
+
+    String sql() {
+        return sql + " ORDER BY b.start_date DESC, b.id DESC";
+    }
+
+    Map<String, Object> parameters() {
+        return parameters;
+    }
+
+    private void appendState(BookingState state, LocalDateTime now) {
+        switch (state) {
+            case ALL:
+                return;
+            case CURRENT:
+                sql.append(" AND b.start_date < :now AND b.end_date > :now");
+                parameters.put("now", now);
+                return;
+            case PAST:
+                sql.append(" AND b.end_date < :now");
+                parameters.put("now", now);
+                return;
+            case FUTURE:
+                sql.append(" AND b.start_date > :now");
+                parameters.put("now", now);
+                return;
+            case WAITING:
+            case REJECTED:
+                sql.append(" AND b.status = :status");
+                parameters.put("status", state.name());
+                return;
+            default:
+                throw new UnsupportedBookingStateException("Unknown state: UNSUPPORTED_STATUS");
+        }
+    }
+}
@@ -1,45 +1,73 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    List<Booking> findAllByBookerIdAndStatus(Long userId, BookingStatus status, Pageable pageable);
-
-    List<Booking> findAllByBookerId(Long userId, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndEndBefore(Long userId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findAllByBookerIdAndStartAfter(Long userId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfter(Long userId,
-                                                          LocalDateTime start,
-                                                          LocalDateTime end,
-                                                          Pageable pageRequest);
-
-    List<Booking> findByItemOwnerId(Long userId, Pageable pageable);
-
-    List<Booking> findByItemOwnerIdAndStatus(Long userId, BookingStatus status, Pageable pageable);
-
-    List<Booking> findByItemOwnerIdAndEndBefore(Long userId, LocalDateTime end, Pageable pageable);
-
-    List<Booking> findByItemOwnerIdAndStartAfter(Long userId, LocalDateTime start, Pageable pageable);
-
-    List<Booking> findByItemOwnerIdAndStartBeforeAndEndAfter(Long userId,
-                                                             LocalDateTime start,
-                                                             LocalDateTime end,
-                                                             Pageable pageRequest);
+    @Override
+    @EntityGraph(Booking.DETAILS_GRAPH)
+    Optional<Booking> findById(Long id);
 
     List<Booking> findByItemId(Long itemId);
 
     List<Booking> findByItemIdIn(Collection<Long> itemIds);
 
+    List<Booking> findByItemIdAndStatusInAndEndAfter(Long itemId,
+                                                     Collection<BookingStatus> statuses,
+                                                     LocalDateTime end);
+
+    boolean existsByItemIdAndStatusAndIdNotAndStartBeforeAndEndAfter(Long itemId,
+                                                                     BookingStatus status,
+                                                                     Long bookingId,
+                                                                     LocalDateTime end,
+                                                                     LocalDateTime start);
+
     List<Booking> findByBookerIdAndItemIdAndEndBefore(Long userId, Long itemId, LocalDateTime end);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select b from Booking b join fetch b.item i join fetch i.owner " +
+            "left join fetch i.request r left join fetch r.requester join fetch b.booker " +
+            "where i.owner.id = :ownerId and i.deleted = false order by b.id")
+    Stream<Booking> streamByItemOwnerId(@Param("ownerId") Long ownerId);
+
+    @Query("select b.id from Booking b where b.id in :ids and b.item.owner.id = :ownerId")
+    List<Long> findIdsOwnedBy(@Param("ids") Collection<Long> ids, @Param("ownerId") Long ownerId);
+
+    @Query("select distinct b.item.id from Booking b where b.id in :ids")
+    List<Long> findItemIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select distinct b.id from Booking b, Booking o " +
+            "where b.id in :ids and b.status = :waiting and o.item = b.item and o.id <> b.id " +
+            "and o.start < b.end and o.end > b.start " +
+            "and (o.status = :approved or (o.id in :ids and o.status = :waiting))")
+    List<Long> findApprovalConflicts(@Param("ids") Collection<Long> ids,
+                                     @Param("waiting") BookingStatus waiting,
+                                     @Param("approved") BookingStatus approved);
+
+    @Query("select distinct w.id from Booking w, Booking a " +
+            "where a.id in :ids and a.status = :approved and w.item = a.item and w.status = :waiting " +
+            "and w.start < a.end and w.end > a.start")
+    List<Long> findWaitingOverlapping(@Param("ids") Collection<Long> ids,
+                                      @Param("waiting") BookingStatus waiting,
+                                      @Param("approved") BookingStatus approved);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Booking b set b.status = :status where b.id in :ids and b.status = :waiting")
+    int updateStatusOfWaiting(@Param("ids") Collection<Long> ids,
+                              @Param("status") BookingStatus status,
+                              @Param("waiting") BookingStatus waiting);
 }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.pagination.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    List<Booking> findPage(BookingRole role, Long userId, BookingState state, LocalDateTime now, int from, int size);
+
+    List<Booking> findPageAfter(BookingRole role,
+                                Long userId,
+                                BookingState state,
+                                LocalDateTime now,
+                                KeysetCursor after,
+                                int size);
+}
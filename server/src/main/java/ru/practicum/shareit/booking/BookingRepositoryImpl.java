@@ -0,0 +1,57 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.graph.GraphSemantic;
+import ru.practicum.shareit.pagination.KeysetCursor;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Booking> findPage(BookingRole role, Long userId, BookingState state, LocalDateTime now, int from,
+                                  int size) {
+        BookingQuery bookingQuery = new BookingQuery(role, userId, state, now);
+        return execute(bookingQuery, from, size);
+    }
+
+    @Override
+    public List<Booking> findPageAfter(BookingRole role,
+                                       Long userId,
+                                       BookingState state,
+                                       LocalDateTime now,
+                                       KeysetCursor after,
+                                       int size) {
+        BookingQuery bookingQuery = new BookingQuery(role, userId, state, now).after(after);
+        return execute(bookingQuery, 0, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Booking> execute(BookingQuery bookingQuery, int from, int size) {
+        Query query = entityManager.createNativeQuery(bookingQuery.sql());
+        bookingQuery.parameters().forEach(query::setParameter);
+        List<Long> ids = ((List<Number>) query.setFirstResult(from).setMaxResults(size).getResultList()).stream()
+                .map(Number::longValue)
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // The page is selected by id first so that the fetch joins of the details graph are not paginated
+        Map<Long, Booking> bookings = entityManager.createQuery("select b from Booking b where b.id in :ids",
+                        Booking.class)
+                .setParameter("ids", ids)
+                .setHint(GraphSemantic.FETCH.getJpaHintName(), entityManager.getEntityGraph(Booking.DETAILS_GRAPH))
+                .getResultStream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        return ids.stream().map(bookings::get).collect(Collectors.toList());
+    }
+}
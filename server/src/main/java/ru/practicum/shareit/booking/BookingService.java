@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
 
@@ -9,11 +11,20 @@ public interface BookingService {
 
     BookingOutDto create(BookingDto bookingDto, Long userId);
 
+    List<BookingBatchResultDto> createAll(List<BookingDto> bookingDtos, Long userId);
+
     BookingOutDto setBookingApproval(Long userId, Boolean approved, Long bookingId);
 
+    BookingApprovalResultDto setBookingsApproval(Long userId, Boolean approved, List<Long> bookingIds,
+                                                 boolean rejectOverlapping);
+
     BookingOutDto findBookingById(Long bookingId, Long userId);
 
     List<BookingOutDto> findBookingsOfUser(BookingState state, Long userId, int from, int size);
 
+    List<BookingOutDto> findBookingsOfUser(BookingState state, Long userId, String after, int size);
+
     List<BookingOutDto> findBookingsOfOwner(BookingState state, Long userId, int from, int size);
+
+    List<BookingOutDto> findBookingsOfOwner(BookingState state, Long userId, String after, int size);
 }
@@ -1,58 +1,111 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
 import ru.practicum.shareit.exception.*;
+import ru.practicum.shareit.item.ItemBookingPointerService;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
-import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
 
+    private static final String EXCLUSION_VIOLATION = "23P01";
+
     private final BookingRepository repository;
     private final UserService userService;
     private final ItemRepository itemRepository;
+    private final BookingOverlapIndex overlapIndex;
+    private final BookingProperties properties;
+    private final ItemBookingPointerService pointerService;
 
     @Override
     @Transactional
     public BookingOutDto create(BookingDto bookingDto, Long userId) {
         User booker = UserMapper.toUser(userService.findUserById(userId));
         Item item = itemRepository.findById(bookingDto.getItemId())
+                .filter(found -> !found.isDeleted())
                 .orElseThrow(() -> new ItemNotFoundException("Item was not found"));
-        if (!item.getAvailable()) {
-            throw new BookingValidationException("Unable to create booking with an unavailable item");
+        Booking booking = toNewBooking(bookingDto, item, booker);
+        if (overlapIndex.hasConflict(item.getId(), booking.getStart(), booking.getEnd())) {
+            throw new BookingValidationException("Item is already booked for the requested period");
         }
-        if (userId.equals(item.getOwner().getId())) {
-            throw new UserAccessForbiddenException("Owner of an item cannot rent it");
+        Booking saved = repository.save(booking);
+        overlapIndex.add(saved);
+        return BookingMapper.toBookingDto(saved);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingBatchResultDto> createAll(List<BookingDto> bookingDtos, Long userId) {
+        User booker = UserMapper.toUser(userService.findUserById(userId));
+        Set<Long> itemIds = bookingDtos.stream().map(BookingDto::getItemId).collect(Collectors.toSet());
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .filter(item -> !item.isDeleted())
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        BookingBatchResultDto[] results = new BookingBatchResultDto[bookingDtos.size()];
+        Map<Long, List<Booking>> acceptedByItem = new HashMap<>();
+        List<Booking> accepted = new ArrayList<>();
+        List<Integer> acceptedIndexes = new ArrayList<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingDto bookingDto = bookingDtos.get(i);
+            try {
+                Item item = items.get(bookingDto.getItemId());
+                if (item == null) {
+                    throw new ItemNotFoundException("Item was not found");
+                }
+                Booking booking = toNewBooking(bookingDto, item, booker);
+                List<Booking> sameItem = acceptedByItem.computeIfAbsent(item.getId(), id -> new ArrayList<>());
+                if (overlapIndex.hasConflict(item.getId(), booking.getStart(), booking.getEnd())
+                        || sameItem.stream().anyMatch(other -> overlaps(other, booking))) {
+                    throw new BookingValidationException("Item is already booked for the requested period");
+                }
+                sameItem.add(booking);
+                accepted.add(booking);
+                acceptedIndexes.add(i);
+            } catch (ItemNotFoundException | BookingValidationException | UserAccessForbiddenException e) {
+                results[i] = new BookingBatchResultDto(i, null, e.getMessage());
+            }
         }
-        Booking booking = BookingMapper.toBooking(bookingDto);
-        checkCorrectTiming(booking);
-        booking.setItem(item);
-        booking.setBooker(booker);
-        booking.setStatus(BookingStatus.WAITING);
-        return BookingMapper.toBookingDto(repository.save(booking));
+        List<Booking> saved = repository.saveAll(accepted);
+        for (int i = 0; i < saved.size(); i++) {
+            overlapIndex.add(saved.get(i));
+            int index = acceptedIndexes.get(i);
+            results[index] = new BookingBatchResultDto(index, BookingMapper.toBookingDto(saved.get(i)), null);
+        }
+        return Arrays.asList(results);
     }
 
     @Override
     @Transactional
     public BookingOutDto setBookingApproval(Long userId, Boolean approved, Long bookingId) {
-        UserDto userDto = userService.findUserById(userId);
+        userService.assertUserExists(userId);
         Booking booking = repository.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException("Booking was not found"));
         if (!userId.equals(booking.getItem().getOwner().getId())) {
@@ -65,16 +118,68 @@ public class BookingServiceImpl implements BookingService {
             throw new BookingValidationException("Unable to set the approval to booking without status WAITING");
         }
         if (approved) {
+            if (!properties.isPeriodConstraint()) {
+                checkApprovedPeriodIsFree(booking);
+            }
             booking.setStatus(BookingStatus.APPROVED);
-        } else {
-            booking.setStatus(BookingStatus.REJECTED);
+            Booking saved = saveApproved(booking);
+            pointerService.onApproved(saved);
+            return BookingMapper.toBookingDto(saved);
         }
+        booking.setStatus(BookingStatus.REJECTED);
+        overlapIndex.remove(booking);
         return BookingMapper.toBookingDto(repository.save(booking));
     }
 
+    @Override
+    @Transactional
+    public BookingApprovalResultDto setBookingsApproval(Long userId, Boolean approved, List<Long> bookingIds,
+                                                        boolean rejectOverlapping) {
+        userService.assertUserExists(userId);
+        Set<Long> ids = new HashSet<>(bookingIds);
+        if (ids.isEmpty()) {
+            return new BookingApprovalResultDto(0, List.of());
+        }
+        if (repository.findIdsOwnedBy(ids, userId).size() != ids.size()) {
+            throw new BookingValidationException("Only the owner of an item is allowed to set the booking approval");
+        }
+        if (!approved) {
+            int updated = repository.updateStatusOfWaiting(ids, BookingStatus.REJECTED, BookingStatus.WAITING);
+            overlapIndex.evict(repository.findItemIds(ids));
+            return new BookingApprovalResultDto(updated, List.of());
+        }
+        if (!properties.isPeriodConstraint()) {
+            List<Long> conflicts = repository.findApprovalConflicts(ids, BookingStatus.WAITING,
+                    BookingStatus.APPROVED);
+            if (!conflicts.isEmpty()) {
+                throw new BookingValidationException("Bookings " + conflicts + " overlap other approved bookings");
+            }
+        }
+        int updated;
+        try {
+            updated = repository.updateStatusOfWaiting(ids, BookingStatus.APPROVED, BookingStatus.WAITING);
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                throw new BookingValidationException("Item is already booked for the requested period");
+            }
+            throw e;
+        }
+        pointerService.refresh(repository.findItemIds(ids));
+        if (!rejectOverlapping) {
+            return new BookingApprovalResultDto(updated, List.of());
+        }
+        List<Long> overlapping = repository.findWaitingOverlapping(ids, BookingStatus.WAITING,
+                BookingStatus.APPROVED);
+        if (!overlapping.isEmpty()) {
+            repository.updateStatusOfWaiting(overlapping, BookingStatus.REJECTED, BookingStatus.WAITING);
+            overlapIndex.evict(repository.findItemIds(overlapping));
+        }
+        return new BookingApprovalResultDto(updated, overlapping);
+    }
+
     @Override
     public BookingOutDto findBookingById(Long bookingId, Long userId) {
-        UserDto userDto = userService.findUserById(userId);
+        userService.assertUserExists(userId);
         Booking booking = repository.findById(bookingId)
                 .orElseThrow(() -> new BookingNotFoundException("Booking was not found"));
         if (userId.equals(booking.getBooker().getId())
@@ -87,70 +192,93 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     public List<BookingOutDto> findBookingsOfUser(BookingState state, Long userId, int from, int size) {
-        UserDto userDto = userService.findUserById(userId);
-        LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings;
-        Sort sort = Sort.by("start").descending();
-        Pageable pageRequest = PageRequest.of(from > 0 ? from / size : 0, size, sort);
-
-        switch (state) {
-            case ALL:
-                bookings = repository.findAllByBookerId(userId, pageRequest);
-                break;
-            case PAST:
-                bookings = repository.findAllByBookerIdAndEndBefore(userId, now, pageRequest);
-                break;
-            case WAITING:
-                bookings = repository.findAllByBookerIdAndStatus(userId, BookingStatus.WAITING, pageRequest);
-                break;
-            case REJECTED:
-                bookings = repository.findAllByBookerIdAndStatus(userId, BookingStatus.REJECTED, pageRequest);
-                break;
-            case FUTURE:
-                bookings = repository.findAllByBookerIdAndStartAfter(userId, now, pageRequest);
-                break;
-            case CURRENT:
-                bookings = repository.findByBookerIdAndStartBeforeAndEndAfter(userId, now, now, pageRequest);
-                break;
-            default:
-                throw new UnsupportedBookingStateException("Unknown state: UNSUPPORTED_STATUS");
-        }
+        userService.assertUserExists(userId);
+        checkSupported(state);
+        List<Booking> bookings = repository.findPage(BookingRole.BOOKER, userId, state, LocalDateTime.now(),
+                firstResult(from, size), size);
+        return BookingMapper.mapToBookingDto(bookings);
+    }
+
+    @Override
+    public List<BookingOutDto> findBookingsOfUser(BookingState state, Long userId, String after, int size) {
+        userService.assertUserExists(userId);
+        checkSupported(state);
+        List<Booking> bookings = repository.findPageAfter(BookingRole.BOOKER, userId, state, LocalDateTime.now(),
+                KeysetCursor.decode(after), size);
         return BookingMapper.mapToBookingDto(bookings);
     }
 
     @Override
     public List<BookingOutDto> findBookingsOfOwner(BookingState state, Long userId, int from, int size) {
-        UserDto userDto = userService.findUserById(userId);
-        LocalDateTime now = LocalDateTime.now();
-        List<Booking> bookings;
-        Sort sort = Sort.by("start").descending();
-        Pageable pageRequest = PageRequest.of(from > 0 ? from / size : 0, size, sort);
-
-        switch (state) {
-            case ALL:
-                bookings = repository.findByItemOwnerId(userId, pageRequest);
-                break;
-            case PAST:
-                bookings = repository.findByItemOwnerIdAndEndBefore(userId, now, pageRequest);
-                break;
-            case WAITING:
-                bookings = repository.findByItemOwnerIdAndStatus(userId, BookingStatus.WAITING, pageRequest);
-                break;
-            case REJECTED:
-                bookings = repository.findByItemOwnerIdAndStatus(userId, BookingStatus.REJECTED, pageRequest);
-                break;
-            case FUTURE:
-                bookings = repository.findByItemOwnerIdAndStartAfter(userId, now, pageRequest);
-                break;
-            case CURRENT:
-                bookings = repository.findByItemOwnerIdAndStartBeforeAndEndAfter(userId, now, now, pageRequest);
-                break;
-            default:
-                throw new UnsupportedBookingStateException("Unknown state: UNSUPPORTED_STATUS");
-        }
+        userService.assertUserExists(userId);
+        checkSupported(state);
+        List<Booking> bookings = repository.findPage(BookingRole.OWNER, userId, state, LocalDateTime.now(),
+                firstResult(from, size), size);
         return BookingMapper.mapToBookingDto(bookings);
     }
 
+    @Override
+    public List<BookingOutDto> findBookingsOfOwner(BookingState state, Long userId, String after, int size) {
+        userService.assertUserExists(userId);
+        checkSupported(state);
+        List<Booking> bookings = repository.findPageAfter(BookingRole.OWNER, userId, state, LocalDateTime.now(),
+                KeysetCursor.decode(after), size);
+        return BookingMapper.mapToBookingDto(bookings);
+    }
+
+    private void checkApprovedPeriodIsFree(Booking booking) {
+        if (repository.existsByItemIdAndStatusAndIdNotAndStartBeforeAndEndAfter(booking.getItem().getId(),
+                BookingStatus.APPROVED, booking.getId(), booking.getEnd(), booking.getStart())) {
+            throw new BookingValidationException("Item is already booked for the requested period");
+        }
+    }
+
+    private Booking saveApproved(Booking booking) {
+        // Flushing here surfaces an exclusion constraint violation while it can still be translated
+        try {
+            return repository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isExclusionViolation(e)) {
+                throw new BookingValidationException("Item is already booked for the requested period");
+            }
+            throw e;
+        }
+    }
+
+    private boolean isExclusionViolation(DataIntegrityViolationException e) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+        return cause instanceof SQLException && EXCLUSION_VIOLATION.equals(((SQLException) cause).getSQLState());
+    }
+
+    private void checkSupported(BookingState state) {
+        if (state == BookingState.UNSUPPORTED_STATUS) {
+            throw new UnsupportedBookingStateException("Unknown state: UNSUPPORTED_STATUS");
+        }
+    }
+
+    private int firstResult(int from, int size) {
+        return from > 0 ? from / size * size : 0;
+    }
+
+    private Booking toNewBooking(BookingDto bookingDto, Item item, User booker) {
+        if (!item.getAvailable()) {
+            throw new BookingValidationException("Unable to create booking with an unavailable item");
+        }
+        if (booker.getId().equals(item.getOwner().getId())) {
+            throw new UserAccessForbiddenException("Owner of an item cannot rent it");
+        }
+        Booking booking = BookingMapper.toBooking(bookingDto);
+        checkCorrectTiming(booking);
+        booking.setItem(item);
+        booking.setBooker(booker);
+        booking.setStatus(BookingStatus.WAITING);
+        return booking;
+    }
+
+    private static boolean overlaps(Booking first, Booking second) {
+        return first.getStart().isBefore(second.getEnd()) && second.getStart().isBefore(first.getEnd());
+    }
+
     private void checkCorrectTiming(Booking booking) {
         LocalDateTime now = LocalDateTime.now();
         if (booking.getEnd().isBefore(now)) {
@@ -98,6 +98,20 @@ public class ErrorHandler {
         return Map.of("Search for ItemRequest failed", e.getMessage());
     }
 
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    public Map<String, String> handleItemImportJobNotFoundException(ItemImportJobNotFoundException e) {
+        log.error(e.getMessage());
+        return Map.of("Search for import job failed", e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleInvalidCursorException(InvalidCursorException e) {
+        log.error(e.getMessage());
+        return Map.of("Pagination failed", e.getMessage());
+    }
+
     @ExceptionHandler
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public Map<String, String> handleUnknownException(Throwable e) {
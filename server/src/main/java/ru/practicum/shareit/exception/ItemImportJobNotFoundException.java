@@ -0,0 +1,8 @@
+package ru.practicum.shareit.exception;
+
+public class ItemImportJobNotFoundException extends RuntimeException {
+
+    public ItemImportJobNotFoundException(String message) {
+        super(message);
+    }
+}
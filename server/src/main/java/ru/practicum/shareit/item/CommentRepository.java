@@ -1,16 +1,29 @@
 package ru.practicum.shareit.item;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Comment;
 
+import javax.persistence.QueryHint;
 import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @EntityGraph(attributePaths = "author")
     List<Comment> findAllByItemId(Long itemId);
 
+    @EntityGraph(attributePaths = "author")
     List<Comment> findByItemIdIn(Collection<Long> itemIds);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select c from Comment c join fetch c.author where c.item.owner.id = :ownerId and c.item.deleted = false " +
+            "order by c.id")
+    Stream<Comment> streamByItemOwnerId(@Param("ownerId") Long ownerId);
 }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.model.ItemBookingPointer;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ItemBookingPointerRepository extends JpaRepository<ItemBookingPointer, Long>,
+        ItemBookingPointerRepositoryCustom {
+
+    List<ItemBookingPointer> findByItemIdIn(Collection<Long> itemIds);
+
+    List<ItemBookingPointer> findByNextStartBefore(LocalDateTime now);
+}
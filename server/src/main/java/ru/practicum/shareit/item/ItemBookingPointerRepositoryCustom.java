@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item;
+
+import ru.practicum.shareit.item.model.ItemBookingPointer;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
+
+public interface ItemBookingPointerRepositoryCustom {
+
+    Map<Long, ItemBookingPointer> resolveFromBookings(Collection<Long> itemIds, LocalDateTime now);
+}
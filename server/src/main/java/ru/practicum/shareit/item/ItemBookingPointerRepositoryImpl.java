@@ -0,0 +1,56 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.BookingSnapshot;
+import ru.practicum.shareit.item.model.ItemBookingPointer;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class ItemBookingPointerRepositoryImpl implements ItemBookingPointerRepositoryCustom {
+
+    // At most one row per item on each side of :now, so the result is bounded by twice the number of items
+    private static final String RESOLVE_SQL = "SELECT 'LAST' AS side, r.* FROM (" +
+            "SELECT b.id, b.item_id, b.booker_id, b.start_date, b.end_date, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date DESC, b.id DESC) AS rn " +
+            "FROM bookings b WHERE b.item_id IN (:itemIds) AND b.status = :status AND b.start_date < :now) r " +
+            "WHERE r.rn = 1 " +
+            "UNION ALL " +
+            "SELECT 'NEXT' AS side, r.* FROM (" +
+            "SELECT b.id, b.item_id, b.booker_id, b.start_date, b.end_date, " +
+            "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date ASC, b.id ASC) AS rn " +
+            "FROM bookings b WHERE b.item_id IN (:itemIds) AND b.status = :status AND b.start_date > :now) r " +
+            "WHERE r.rn = 1";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public Map<Long, ItemBookingPointer> resolveFromBookings(Collection<Long> itemIds, LocalDateTime now) {
+        Map<Long, ItemBookingPointer> pointers = new HashMap<>();
+        if (itemIds.isEmpty()) {
+            return pointers;
+        }
+        itemIds.forEach(itemId -> pointers.put(itemId, new ItemBookingPointer(itemId, null, null)));
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("itemIds", itemIds)
+                .addValue("status", BookingStatus.APPROVED.name())
+                .addValue("now", now);
+        jdbcTemplate.query(RESOLVE_SQL, parameters, rs -> {
+            ItemBookingPointer pointer = pointers.get(rs.getLong("item_id"));
+            BookingSnapshot snapshot = new BookingSnapshot(rs.getLong("id"), rs.getLong("booker_id"),
+                    rs.getObject("start_date", LocalDateTime.class), rs.getObject("end_date", LocalDateTime.class));
+            if ("LAST".equals(rs.getString("side"))) {
+                pointer.setLast(snapshot);
+            } else {
+                pointer.setNext(snapshot);
+            }
+        });
+        return pointers;
+    }
+}
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.item.model.BookingSnapshot;
+import ru.practicum.shareit.item.model.ItemBookingPointer;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ItemBookingPointerService {
+
+    private final ItemBookingPointerRepository repository;
+
+    /**
+     * Pointers of the given items as of now. Rows whose next booking has already started, or that were never
+     * written, are resolved from bookings in one query until the advancer catches up.
+     */
+    public Map<Long, ItemBookingPointer> findByItemIds(Collection<Long> itemIds) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemBookingPointer> pointers = new HashMap<>();
+        for (ItemBookingPointer pointer : repository.findByItemIdIn(itemIds)) {
+            if (!isStale(pointer, now)) {
+                pointers.put(pointer.getItemId(), pointer);
+            }
+        }
+        Set<Long> unresolved = itemIds.stream()
+                .filter(itemId -> !pointers.containsKey(itemId))
+                .collect(Collectors.toSet());
+        pointers.putAll(repository.resolveFromBookings(unresolved, now));
+        return pointers;
+    }
+
+    @Transactional
+    public void onApproved(Booking booking) {
+        LocalDateTime now = LocalDateTime.now();
+        Long itemId = booking.getItem().getId();
+        ItemBookingPointer pointer = repository.findById(itemId).orElse(null);
+        if (pointer == null || isStale(pointer, now)) {
+            refresh(List.of(itemId));
+            return;
+        }
+        BookingSnapshot snapshot = BookingSnapshot.of(booking);
+        if (booking.getStart().isBefore(now)) {
+            if (pointer.getLast() == null || booking.getStart().isAfter(pointer.getLast().getStart())) {
+                pointer.setLast(snapshot);
+            }
+        } else if (pointer.getNext() == null || booking.getStart().isBefore(pointer.getNext().getStart())) {
+            pointer.setNext(snapshot);
+        }
+        repository.save(pointer);
+    }
+
+    @Transactional
+    public void refresh(Collection<Long> itemIds) {
+        repository.saveAll(repository.resolveFromBookings(itemIds, LocalDateTime.now()).values());
+    }
+
+    @Transactional
+    @Scheduled(fixedDelayString = "${shareit.item.pointer-advance-delay-ms:60000}")
+    public void advance() {
+        List<ItemBookingPointer> due = repository.findByNextStartBefore(LocalDateTime.now());
+        if (!due.isEmpty()) {
+            log.debug("Advancing booking pointers of {} items", due.size());
+            refresh(due.stream().map(ItemBookingPointer::getItemId).collect(Collectors.toList()));
+        }
+    }
+
+    private boolean isStale(ItemBookingPointer pointer, LocalDateTime now) {
+        return pointer.getNext() != null && !pointer.getNext().getStart().isAfter(now);
+    }
+}
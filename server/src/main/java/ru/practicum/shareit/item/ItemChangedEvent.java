@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item;
+
+import lombok.Value;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+/**
+ * Published by {@link ItemServiceImpl} when an item is created, updated or deleted. The state before creation
+ * and after deletion is null.
+ */
+@Value
+public class ItemChangedEvent {
+
+    ItemDto before;
+    ItemDto after;
+}
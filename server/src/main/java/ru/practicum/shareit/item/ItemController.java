@@ -5,13 +5,18 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemViewDto;
+import ru.practicum.shareit.item.search.ItemSearchMode;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping("/items")
 public class ItemController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final ItemService itemService;
 
     @Autowired
@@ -45,9 +50,30 @@ public class ItemController {
 
     @GetMapping(value = "/search")
     public List<ItemDto> searchItemByText(@RequestParam String text,
+                                          @RequestParam(required = false) ItemSearchMode mode,
                                           @RequestParam(defaultValue = "0") int from,
                                           @RequestParam(defaultValue = "10") int size) {
-        return itemService.searchItemByText(text, from, size);
+        return itemService.searchItemByText(text, mode, from, size);
+    }
+
+    @GetMapping(value = "/suggest")
+    public List<String> suggestNames(@RequestParam String prefix) {
+        return itemService.suggestNames(prefix);
+    }
+
+    @GetMapping(value = "/export")
+    public void exportOwnerData(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        try {
+            itemService.exportOwnerData(userId, response.getOutputStream());
+        } catch (RuntimeException e) {
+            // Nothing has been written yet if the owner was not found, so the error can still be sent as JSON
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw e;
+        }
     }
 
     @PostMapping(value = "/{itemId}/comment")
@@ -1,21 +1,42 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.QueryHint;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ItemRepository extends JpaRepository<Item, Long> {
+public interface ItemRepository extends JpaRepository<Item, Long>, ItemRepositoryCustom {
 
-    List<Item> findAllByOwnerId(Long userId, Pageable pageable);
+    @Override
+    @EntityGraph(attributePaths = {"owner", "request", "request.requester"})
+    Optional<Item> findById(Long id);
 
-    List<Item> findByNameOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(String name,
-                                                                             String description,
-                                                                             Pageable pageable);
+    @Override
+    @EntityGraph(attributePaths = {"owner", "request", "request.requester"})
+    List<Item> findAllById(Iterable<Long> ids);
+
+    List<Item> findAllByOwnerIdAndDeletedFalse(Long userId, Pageable pageable);
+
+    @Query("select i from Item i where i.available = true and i.deleted = false " +
+            "and (upper(i.name) like upper(concat('%', :text, '%')) " +
+            "or upper(i.description) like upper(concat('%', :text, '%')))")
+    List<Item> searchAvailable(@Param("text") String text, Pageable pageable);
+
+    List<Item> getByRequestIdInAndDeletedFalse(Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select i from Item i where i.owner.id = :ownerId and i.deleted = false order by i.id")
+    Stream<Item> streamByOwnerId(@Param("ownerId") Long ownerId);
 
-    List<Item> getByRequestIdIn(Collection<Long> ids);
 }
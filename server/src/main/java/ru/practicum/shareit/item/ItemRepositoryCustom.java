@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item;
+
+public interface ItemRepositoryCustom {
+
+    /**
+     * Returns the number of items marked, zero if the item does not exist or was already deleted.
+     */
+    int markDeleted(Long id);
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+@RequiredArgsConstructor
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+    // Deleted items are unavailable, so that they can no longer be found or booked until PurgeWorker removes them
+    private static final String MARK_DELETED_SQL = "UPDATE items SET deleted = TRUE, is_available = FALSE " +
+            "WHERE id = ? AND NOT deleted";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int markDeleted(Long id) {
+        return jdbcTemplate.update(MARK_DELETED_SQL, id);
+    }
+}
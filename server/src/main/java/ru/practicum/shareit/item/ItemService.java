@@ -3,7 +3,10 @@ package ru.practicum.shareit.item;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemViewDto;
+import ru.practicum.shareit.item.search.ItemSearchMode;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface ItemService {
@@ -16,9 +19,16 @@ public interface ItemService {
 
     ItemViewDto findItemById(Long itemId, Long userId);
 
+    /**
+     * Marks the item deleted and unavailable. The purge worker removes it with its bookings and comments later.
+     */
     void delete(Long id);
 
-    List<ItemDto> searchItemByText(String text, int from, int size);
+    List<ItemDto> searchItemByText(String text, ItemSearchMode mode, int from, int size);
+
+    List<String> suggestNames(String prefix);
+
+    void exportOwnerData(Long ownerId, OutputStream out) throws IOException;
 
     CommentDto addComment(CommentDto commentDto, Long itemId, Long userId);
 }
@@ -1,16 +1,20 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.booking.dto.BookingMapper;
-import ru.practicum.shareit.booking.dto.BookingViewDto;
 import ru.practicum.shareit.exception.CommentValidationException;
 import ru.practicum.shareit.exception.ItemNotFoundException;
 import ru.practicum.shareit.exception.ItemValidationException;
@@ -18,6 +22,11 @@ import ru.practicum.shareit.exception.NotOwnerForbiddenException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingPointer;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngines;
+import ru.practicum.shareit.item.search.ItemSearchMode;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestService;
 import ru.practicum.shareit.user.User;
@@ -25,13 +34,20 @@ import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -39,24 +55,31 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class ItemServiceImpl implements ItemService {
 
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final ItemRepository repository;
     private final UserService userService;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestService itemRequestService;
+    private final ItemBookingPointerService pointerService;
+    private final ItemSearchEngines searchEngines;
+    private final ItemSearchCache searchCache;
+    private final ItemNameSuggester nameSuggester;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
     public List<ItemViewDto> getAllItemsByOwner(Long id, int from, int size) {
-        UserDto owner = userService.findUserById(id);
+        userService.assertUserExists(id);
         Pageable pageRequest = PageRequest.of(from, size);
-        Map<Long, Item> itemMap = repository.findAllByOwnerId(id, pageRequest)
+        Map<Long, Item> itemMap = repository.findAllByOwnerIdAndDeletedFalse(id, pageRequest)
                 .stream()
                 .collect(Collectors.toMap(Item::getId, Function.identity()));
 
-        Map<Long, List<BookingViewDto>> bookingMap = bookingRepository.findByItemIdIn(itemMap.keySet())
-                .stream()
-                .map(BookingMapper::toBookingViewDto)
-                .collect(Collectors.groupingBy(BookingViewDto::getItemId));
+        Map<Long, ItemBookingPointer> pointerMap = pointerService.findByItemIds(itemMap.keySet());
 
         Map<Long, List<CommentDto>> commentMap = commentRepository.findByItemIdIn(itemMap.keySet())
                 .stream()
@@ -66,7 +89,7 @@ public class ItemServiceImpl implements ItemService {
         return itemMap.values()
                 .stream()
                 .map(item -> ItemMapper.toItemViewForOwnerDto(item,
-                        bookingMap.getOrDefault(item.getId(), Collections.emptyList()),
+                        pointerMap.get(item.getId()),
                         commentMap.getOrDefault(item.getId(), Collections.emptyList())
                 ))
                 .collect(Collectors.toList());
@@ -82,17 +105,20 @@ public class ItemServiceImpl implements ItemService {
             ItemRequest itemRequest = itemRequestService.findRequestById(itemDto.getRequestId());
             item.setRequest(itemRequest);
         }
-        return ItemMapper.toItemDto(repository.save(item));
+        ItemDto savedItem = ItemMapper.toItemDto(repository.save(item));
+        eventPublisher.publishEvent(new ItemChangedEvent(null, savedItem));
+        return savedItem;
     }
 
     @Override
     @Transactional
     public ItemDto update(ItemDto itemDto, Long itemId, Long userId) {
-        UserDto userDto = userService.findUserById(userId);
+        userService.assertUserExists(userId);
         Item itemToUpdate = findItemByIdFromRepository(itemId);
         if (!itemToUpdate.getOwner().getId().equals(userId)) {
             throw new NotOwnerForbiddenException("User is not the owner of an item");
         }
+        ItemDto before = ItemMapper.toItemDto(itemToUpdate);
 
         boolean updated = false;
         if (itemDto.getName() != null) {
@@ -108,7 +134,9 @@ public class ItemServiceImpl implements ItemService {
             updated = true;
         }
         if (updated) {
-            return ItemMapper.toItemDto(repository.save(itemToUpdate));
+            ItemDto savedItem = ItemMapper.toItemDto(repository.save(itemToUpdate));
+            eventPublisher.publishEvent(new ItemChangedEvent(before, savedItem));
+            return savedItem;
         }
         log.warn("update of item with id {} failed", itemId);
         throw new ItemValidationException("Unable to update empty parameters of item");
@@ -116,22 +144,16 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     public ItemViewDto findItemById(Long itemId, Long userId) {
-        UserDto userDto = userService.findUserById(userId);
+        userService.assertUserExists(userId);
         Item item = findItemByIdFromRepository(itemId);
         List<CommentDto> comments = commentRepository.findAllByItemId(itemId)
                 .stream()
                 .map(CommentMapper::toCommentDto)
                 .collect(Collectors.toList());
 
-        List<BookingViewDto> bookings = bookingRepository.findByItemId(itemId)
-                .stream()
-                .filter(booking -> booking.getStatus().equals(BookingStatus.APPROVED))
-                .map(BookingMapper::toBookingViewDto)
-                .collect(Collectors.toList());
-
         if (userId.equals(item.getOwner().getId())) {
             return ItemMapper.toItemViewForOwnerDto(item,
-                    bookings,
+                    pointerService.findByItemIds(List.of(itemId)).get(itemId),
                     comments);
         }
         return ItemMapper.toItemViewForBookerDto(item, comments);
@@ -140,17 +162,51 @@ public class ItemServiceImpl implements ItemService {
     @Override
     @Transactional
     public void delete(Long id) {
-        repository.deleteById(id);
+        Optional<Item> item = repository.findById(id);
+        if (item.isPresent() && repository.markDeleted(id) > 0) {
+            eventPublisher.publishEvent(new ItemChangedEvent(ItemMapper.toItemDto(item.get()), null));
+        }
     }
 
     @Override
-    public List<ItemDto> searchItemByText(String text, int from, int size) {
+    public List<ItemDto> searchItemByText(String text, ItemSearchMode mode, int from, int size) {
         if (text.isEmpty() || text.isBlank()) {
             return new ArrayList<>();
         }
-        Pageable pageRequest = PageRequest.of(from, size);
-        return ItemMapper.mapToItemDto(repository.findByNameOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(text,
-                text, pageRequest));
+        ItemSearchMode searchMode = searchEngines.resolve(mode);
+        return searchCache.get(text, searchMode, from, size,
+                () -> ItemMapper.mapToItemDto(searchEngines.search(text, searchMode, from, size)));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public List<String> suggestNames(String prefix) {
+        // Suggestions come from memory only, so no transaction (and connection) is opened for them
+        return nameSuggester.suggest(prefix);
+    }
+
+    /**
+     * Writes every item of the owner, every booking of those items and every comment on them as one JSON object
+     * per line. Rows are streamed from the database and the persistence context is cleared as they go, so memory
+     * use does not depend on the number of rows.
+     */
+    @Override
+    public void exportOwnerData(Long ownerId, OutputStream out) throws IOException {
+        userService.assertUserExists(ownerId);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        try (Stream<Item> items = repository.streamByOwnerId(ownerId)) {
+            writeRecords(generator, "item", items, ItemMapper::toItemDto);
+        }
+        try (Stream<Booking> bookings = bookingRepository.streamByItemOwnerId(ownerId)) {
+            writeRecords(generator, "booking", bookings, BookingMapper::toBookingDto);
+        }
+        try (Stream<Comment> comments = commentRepository.streamByItemOwnerId(ownerId)) {
+            writeRecords(generator, "comment", comments, CommentMapper::toCommentDto);
+        }
+        generator.writeRaw('\n');
+        generator.close();
     }
 
     @Transactional
@@ -175,8 +231,24 @@ public class ItemServiceImpl implements ItemService {
         throw new CommentValidationException("User cannot add comment to an item without booking");
     }
 
+    private <T> void writeRecords(JsonGenerator generator, String type, Stream<T> rows, Function<T, ?> mapper)
+            throws IOException {
+        Iterator<T> iterator = rows.iterator();
+        int written = 0;
+        while (iterator.hasNext()) {
+            objectMapper.writeValue(generator, new ExportRecordDto(type, mapper.apply(iterator.next())));
+            if (++written % EXPORT_CHUNK_SIZE == 0) {
+                entityManager.clear();
+                generator.flush();
+            }
+        }
+        entityManager.clear();
+        generator.flush();
+    }
+
     private Item findItemByIdFromRepository(Long itemId) {
         return repository.findById(itemId)
+                .filter(item -> !item.isDeleted())
                 .orElseThrow(() -> new ItemNotFoundException("Item was not found"));
     }
 }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item;
+
+import lombok.Value;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+
+/**
+ * Published when the items of a user are marked deleted together with the user. Carries the items as they were
+ * before, so that listeners can drop them one by one as they would for an {@link ItemChangedEvent}.
+ */
+@Value
+public class ItemsDeletedEvent {
+
+    Long ownerId;
+    List<ItemDto> items;
+}
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item;
+
+import lombok.Value;
+
+/**
+ * Published when an import job has inserted items in bulk. Too many items change at once for
+ * {@link ItemChangedEvent}, so listeners reload their state instead.
+ */
+@Value
+public class ItemsImportedEvent {
+
+    Long ownerId;
+    int count;
+}
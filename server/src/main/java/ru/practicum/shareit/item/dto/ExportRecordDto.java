@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * One line of the owner export: type is item, booking or comment, data the corresponding DTO.
+ */
+@Data
+@AllArgsConstructor
+public class ExportRecordDto {
+
+    private String type;
+    private Object data;
+}
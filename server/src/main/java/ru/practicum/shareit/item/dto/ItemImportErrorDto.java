@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * A rejected row of an import, numbered from 1 without the CSV header.
+ */
+@Data
+@AllArgsConstructor
+public class ItemImportErrorDto {
+
+    private int row;
+    private String message;
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.item.imports.ItemImportStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of an import job. Errors are limited to the first rejected rows; rowsRejected counts all of them.
+ */
+@Data
+@AllArgsConstructor
+public class ItemImportJobDto {
+
+    private String id;
+    private ItemImportStatus status;
+    private int rowsRead;
+    private int rowsRejected;
+    private int rowsImported;
+    private List<ItemImportErrorDto> errors;
+    private String failure;
+    private LocalDateTime started;
+    private LocalDateTime finished;
+}
@@ -1,10 +1,13 @@
 package ru.practicum.shareit.item.dto;
 
 import ru.practicum.shareit.booking.dto.BookingViewDto;
+import ru.practicum.shareit.item.model.BookingSnapshot;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingPointer;
 
-import java.time.LocalDateTime;
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 public class ItemMapper {
 
@@ -35,20 +38,15 @@ public class ItemMapper {
         return item;
     }
 
-    public static ItemViewDto toItemViewForOwnerDto(Item item, List<BookingViewDto> bookings,
+    public static ItemViewDto toItemViewForOwnerDto(Item item, ItemBookingPointer pointer,
                                                     List<CommentDto> comments) {
-        LocalDateTime now = LocalDateTime.now();
-
-
         return ItemViewDto.builder()
                 .id(item.getId())
                 .name(item.getName())
                 .description(item.getDescription())
                 .available(item.getAvailable())
-                .lastBooking(bookings.stream().filter(b -> b.getStart().isBefore(now))
-                        .max(Comparator.comparing(BookingViewDto::getStart)).orElse(null))
-                .nextBooking(bookings.stream().filter(b -> b.getStart().isAfter(now))
-                        .min(Comparator.comparing(BookingViewDto::getStart)).orElse(null))
+                .lastBooking(pointer != null ? toBookingViewDto(item.getId(), pointer.getLast()) : null)
+                .nextBooking(pointer != null ? toBookingViewDto(item.getId(), pointer.getNext()) : null)
                 .comments(comments)
                 .build();
     }
@@ -63,6 +61,19 @@ public class ItemMapper {
                 .build();
     }
 
+    private static BookingViewDto toBookingViewDto(Long itemId, BookingSnapshot snapshot) {
+        if (snapshot == null) {
+            return null;
+        }
+        return BookingViewDto.builder()
+                .id(snapshot.getBookingId())
+                .start(snapshot.getStart())
+                .end(snapshot.getEnd())
+                .bookerId(snapshot.getBookerId())
+                .itemId(itemId)
+                .build();
+    }
+
     public static ItemForRequestDto toItemForRequestDto(Item item) {
         return ItemForRequestDto.builder()
                 .id(item.getId())
@@ -0,0 +1,33 @@
+package ru.practicum.shareit.item.imports;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.ItemImportJobDto;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/items/import")
+public class ItemImportController {
+
+    private final ItemImportService importService;
+
+    @Autowired
+    public ItemImportController(ItemImportService importService) {
+        this.importService = importService;
+    }
+
+    @PostMapping(consumes = {"text/csv", "application/x-ndjson"})
+    @ResponseStatus(HttpStatus.ACCEPTED)
+    public ItemImportJobDto importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                        HttpServletRequest request) throws IOException {
+        return importService.start(userId, ItemImportFormat.of(request.getContentType()), request.getInputStream());
+    }
+
+    @GetMapping("/{jobId}")
+    public ItemImportJobDto findJob(@RequestHeader("X-Sharer-User-Id") Long userId, @PathVariable String jobId) {
+        return importService.findJob(jobId, userId);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.item.imports;
+
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+public enum ItemImportFormat {
+    // Заголовок с колонками name, description, available и необязательной requestId
+    CSV("text/csv"),
+    // По объекту ItemDto в каждой строке
+    NDJSON("application/x-ndjson");
+
+    private final MediaType mediaType;
+
+    ItemImportFormat(String mediaType) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    public String getMediaType() {
+        return mediaType.toString();
+    }
+
+    public static ItemImportFormat of(String contentType) {
+        MediaType requested = MediaType.parseMediaType(contentType);
+        return Arrays.stream(values())
+                .filter(format -> format.mediaType.equalsTypeAndSubtype(requested))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported import format: " + contentType));
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.item.imports;
+
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportJobDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * State of an import, updated by the importing thread and read by status requests.
+ */
+public class ItemImportJob {
+
+    static final int MAX_ERRORS = 100;
+
+    @Getter
+    private final String id = UUID.randomUUID().toString();
+    @Getter
+    private final Long ownerId;
+    @Getter
+    private final ItemImportFormat format;
+    private final LocalDateTime started = LocalDateTime.now();
+    private final List<ItemImportErrorDto> errors = new ArrayList<>();
+    private ItemImportStatus status = ItemImportStatus.RUNNING;
+    private int rowsRead;
+    private int rowsRejected;
+    private int rowsImported;
+    private String failure;
+    private LocalDateTime finished;
+
+    public ItemImportJob(Long ownerId, ItemImportFormat format) {
+        this.ownerId = ownerId;
+        this.format = format;
+    }
+
+    synchronized void read(ItemImportRow row) {
+        rowsRead++;
+        if (row.isRejected()) {
+            reject(row.getNumber(), row.getError());
+        }
+    }
+
+    synchronized void reject(int row, String message) {
+        rowsRejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new ItemImportErrorDto(row, message));
+        }
+    }
+
+    synchronized void complete(int imported) {
+        rowsImported = imported;
+        status = ItemImportStatus.COMPLETED;
+        finished = LocalDateTime.now();
+    }
+
+    synchronized void fail(String message) {
+        failure = message;
+        status = ItemImportStatus.FAILED;
+        finished = LocalDateTime.now();
+    }
+
+    synchronized boolean isFinishedBefore(LocalDateTime time) {
+        return finished != null && finished.isBefore(time);
+    }
+
+    public synchronized ItemImportJobDto toDto() {
+        List<ItemImportErrorDto> sortedErrors = errors.stream()
+                .sorted(Comparator.comparingInt(ItemImportErrorDto::getRow))
+                .collect(Collectors.toList());
+        return new ItemImportJobDto(id, status, rowsRead, rowsRejected, rowsImported, sortedErrors, failure, started,
+                finished);
+    }
+}
@@ -0,0 +1,181 @@
+package ru.practicum.shareit.item.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.exception.ItemValidationException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads an import file one row at a time, so that a file of any size is validated without being held in memory.
+ * CSV follows RFC 4180: fields may be quoted, and quoted fields may contain commas, quotes and line breaks.
+ */
+class ItemImportReader implements Closeable {
+
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String AVAILABLE = "available";
+    private static final String REQUEST_ID = "requestid";
+
+    private final BufferedReader reader;
+    private final ItemImportFormat format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> columns;
+    private int number;
+
+    ItemImportReader(BufferedReader reader, ItemImportFormat format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * The next row, rejected if it cannot be parsed or is invalid, or null at the end of the file.
+     */
+    ItemImportRow next() throws IOException {
+        return format == ItemImportFormat.CSV ? nextCsv() : nextJson();
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ItemImportRow nextJson() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        int row = ++number;
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            return ItemImportRow.rejected(row, "Malformed JSON");
+        }
+        if (!node.isObject()) {
+            return ItemImportRow.rejected(row, "Row must be a JSON object");
+        }
+        JsonNode available = node.path(AVAILABLE);
+        if (isPresent(available) && !available.isBoolean()) {
+            return ItemImportRow.rejected(row, "Available must be true or false");
+        }
+        JsonNode requestId = node.path("requestId");
+        if (isPresent(requestId) && !requestId.canConvertToExactIntegral()) {
+            return ItemImportRow.rejected(row, "Request id must be a number");
+        }
+        return ItemImportRow.of(row, text(node.path(NAME)), text(node.path(DESCRIPTION)),
+                isPresent(available) ? available.booleanValue() : null,
+                isPresent(requestId) ? requestId.longValue() : null);
+    }
+
+    private static boolean isPresent(JsonNode node) {
+        return !node.isMissingNode() && !node.isNull();
+    }
+
+    private static String text(JsonNode node) {
+        return isPresent(node) && node.isValueNode() ? node.asText() : null;
+    }
+
+    private ItemImportRow nextCsv() throws IOException {
+        if (columns == null) {
+            List<String> header = readRecord();
+            if (header == null) {
+                return null;
+            }
+            columns = parseHeader(header);
+        }
+        List<String> record;
+        do {
+            record = readRecord();
+            if (record == null) {
+                return null;
+            }
+        } while (record.size() == 1 && record.get(0).isEmpty());
+        int row = ++number;
+        if (record.size() != columns.size()) {
+            return ItemImportRow.rejected(row, "Expected " + columns.size() + " columns but found " + record.size());
+        }
+        String available = record.get(columns.get(AVAILABLE)).strip();
+        if (!available.isEmpty() && !available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+            return ItemImportRow.rejected(row, "Available must be true or false");
+        }
+        Long requestId = null;
+        if (columns.containsKey(REQUEST_ID) && !record.get(columns.get(REQUEST_ID)).isBlank()) {
+            try {
+                requestId = Long.parseLong(record.get(columns.get(REQUEST_ID)).strip());
+            } catch (NumberFormatException e) {
+                return ItemImportRow.rejected(row, "Request id must be a number");
+            }
+        }
+        return ItemImportRow.of(row, record.get(columns.get(NAME)), record.get(columns.get(DESCRIPTION)),
+                available.isEmpty() ? null : Boolean.parseBoolean(available), requestId);
+    }
+
+    private static Map<String, Integer> parseHeader(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i).replace("\uFEFF", "").strip().toLowerCase().replace("_", "");
+            columns.put(column, i);
+        }
+        if (!columns.containsKey(NAME) || !columns.containsKey(DESCRIPTION) || !columns.containsKey(AVAILABLE)
+                || columns.size() != header.size()) {
+            throw new ItemValidationException("CSV header must name the columns name, description, available "
+                    + "and optionally requestId, each once");
+        }
+        return columns;
+    }
+
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        int c = reader.read();
+        if (c == -1) {
+            return null;
+        }
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    reader.mark(1);
+                    if (reader.read() == '"') {
+                        field.append('"');
+                    } else {
+                        reader.reset();
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c == '\r') {
+                reader.mark(1);
+                if (reader.read() != '\n') {
+                    reader.reset();
+                }
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = reader.read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item.imports;
+
+import lombok.Value;
+import lombok.With;
+
+/**
+ * A parsed row of an import file. A rejected row carries only its number and the reason; the item id is
+ * assigned once the row is accepted.
+ */
+@Value
+public class ItemImportRow {
+
+    static final int MAX_NAME_LENGTH = 200;
+    static final int MAX_DESCRIPTION_LENGTH = 2000;
+
+    int number;
+    @With
+    Long itemId;
+    String name;
+    String description;
+    Boolean available;
+    Long requestId;
+    String error;
+
+    public boolean isRejected() {
+        return error != null;
+    }
+
+    static ItemImportRow of(int number, String name, String description, Boolean available, Long requestId) {
+        String error = validate(name, description, available);
+        if (error != null) {
+            return rejected(number, error);
+        }
+        return new ItemImportRow(number, null, name, description, available, requestId, null);
+    }
+
+    static ItemImportRow rejected(int number, String error) {
+        return new ItemImportRow(number, null, null, null, null, null, error);
+    }
+
+    private static String validate(String name, String description, Boolean available) {
+        if (name == null || name.isEmpty()) {
+            return "Name must not be empty";
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            return "Name must not be longer than " + MAX_NAME_LENGTH + " characters";
+        }
+        if (description == null || description.isEmpty()) {
+            return "Description must not be empty";
+        }
+        if (description.length() > MAX_DESCRIPTION_LENGTH) {
+            return "Description must not be longer than " + MAX_DESCRIPTION_LENGTH + " characters";
+        }
+        if (available == null) {
+            return "Available must be set";
+        }
+        return null;
+    }
+}
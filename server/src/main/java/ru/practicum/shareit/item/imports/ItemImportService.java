@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.imports;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.exception.ItemImportJobNotFoundException;
+import ru.practicum.shareit.item.dto.ItemImportJobDto;
+import ru.practicum.shareit.user.UserService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Accepts import files and runs them in the background. The upload is spooled to a temporary file so that the
+ * request returns as soon as it has been received; jobs are kept for an hour after they finish.
+ */
+@Slf4j
+@Service
+public class ItemImportService {
+
+    private static final long RETENTION_HOURS = 1;
+
+    private final UserService userService;
+    private final ItemImporter importer;
+    private final TaskExecutor taskExecutor;
+    private final Map<String, ItemImportJob> jobs = new ConcurrentHashMap<>();
+
+    public ItemImportService(UserService userService, ItemImporter importer,
+                             @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.userService = userService;
+        this.importer = importer;
+        this.taskExecutor = taskExecutor;
+    }
+
+    public ItemImportJobDto start(Long ownerId, ItemImportFormat format, InputStream body) throws IOException {
+        userService.assertUserExists(ownerId);
+        Path file = Files.createTempFile("item-import-", "." + format.name().toLowerCase());
+        try {
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        ItemImportJob job = new ItemImportJob(ownerId, format);
+        jobs.put(job.getId(), job);
+        taskExecutor.execute(() -> run(job, file));
+        log.info("Import job {} of owner {} started", job.getId(), ownerId);
+        return job.toDto();
+    }
+
+    public ItemImportJobDto findJob(String jobId, Long userId) {
+        ItemImportJob job = jobs.get(jobId);
+        if (job == null || !job.getOwnerId().equals(userId)) {
+            throw new ItemImportJobNotFoundException("Import job was not found");
+        }
+        return job.toDto();
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.item.import.purge-delay-ms:60000}")
+    public void purgeFinishedJobs() {
+        LocalDateTime threshold = LocalDateTime.now().minusHours(RETENTION_HOURS);
+        jobs.values().removeIf(job -> job.isFinishedBefore(threshold));
+    }
+
+    void run(ItemImportJob job, Path file) {
+        try {
+            job.complete(importer.importItems(job, file));
+            log.info("Import job {} completed", job.getId());
+        } catch (Exception e) {
+            log.error("Import job {} failed", job.getId(), e);
+            job.fail(e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Unable to delete import file {}", file, e);
+            }
+        }
+    }
+}
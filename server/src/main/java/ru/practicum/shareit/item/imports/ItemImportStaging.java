@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.imports;
+
+import java.util.List;
+
+/**
+ * Writes accepted rows to the item_import_rows staging table within the current transaction.
+ */
+public interface ItemImportStaging {
+
+    String TABLE_COLUMNS = "item_import_rows (job_id, row_number, item_id, name, description, is_available, "
+            + "request_id)";
+
+    void stage(String jobId, List<ItemImportRow> rows);
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.imports;
+
+public enum ItemImportStatus {
+    // Файл принят, строки ещё загружаются
+    RUNNING,
+    // Допустимые строки добавлены в items
+    COMPLETED,
+    // Импорт прерван, ни одна строка не добавлена
+    FAILED
+}
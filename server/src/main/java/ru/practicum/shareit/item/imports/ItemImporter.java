@@ -0,0 +1,85 @@
+package ru.practicum.shareit.item.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.ItemsImportedEvent;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Loads an import file in one transaction. Valid rows get ids from the items sequence and are staged in chunks;
+ * a single INSERT ... SELECT then moves the rows whose request exists into items.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemImporter {
+
+    static final int CHUNK_SIZE = 1000;
+    private static final String UNRESOLVED_SQL = "SELECT s.row_number, s.request_id FROM item_import_rows s " +
+            "WHERE s.job_id = ? AND s.request_id IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM requests r WHERE r.id = s.request_id)";
+    private static final String INSERT_SQL = "INSERT INTO items (id, name, description, is_available, user_id, " +
+            "request_id) " +
+            "SELECT s.item_id, s.name, s.description, s.is_available, ?, s.request_id FROM item_import_rows s " +
+            "LEFT JOIN requests r ON r.id = s.request_id " +
+            "WHERE s.job_id = ? AND (s.request_id IS NULL OR r.id IS NOT NULL)";
+    private static final String CLEAR_SQL = "DELETE FROM item_import_rows WHERE job_id = ?";
+
+    private final ItemImportStaging staging;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Returns the number of items inserted. Rejected rows are recorded on the job.
+     */
+    @Transactional
+    public int importItems(ItemImportJob job, Path file) throws IOException {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        IdentifierGenerator idGenerator = session.getFactory().getMetamodel().entityPersister(Item.class)
+                .getIdentifierGenerator();
+        try (ItemImportReader reader = new ItemImportReader(Files.newBufferedReader(file, StandardCharsets.UTF_8),
+                job.getFormat(), objectMapper)) {
+            List<ItemImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (ItemImportRow row = reader.next(); row != null; row = reader.next()) {
+                job.read(row);
+                if (row.isRejected()) {
+                    continue;
+                }
+                chunk.add(row.withItemId((Long) idGenerator.generate(session, null)));
+                if (chunk.size() == CHUNK_SIZE) {
+                    staging.stage(job.getId(), chunk);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                staging.stage(job.getId(), chunk);
+            }
+        }
+        jdbcTemplate.query(UNRESOLVED_SQL, rs -> {
+            job.reject(rs.getInt("row_number"), "Request " + rs.getLong("request_id") + " was not found");
+        }, job.getId());
+        int imported = jdbcTemplate.update(INSERT_SQL, job.getOwnerId(), job.getId());
+        jdbcTemplate.update(CLEAR_SQL, job.getId());
+        if (imported > 0) {
+            eventPublisher.publishEvent(new ItemsImportedEvent(job.getOwnerId(), imported));
+        }
+        return imported;
+    }
+}
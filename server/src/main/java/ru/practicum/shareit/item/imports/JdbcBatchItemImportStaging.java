@@ -0,0 +1,39 @@
+package ru.practicum.shareit.item.imports;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Stages rows with JDBC batch inserts, for databases without COPY such as H2.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.import.staging", havingValue = "batch", matchIfMissing = true)
+public class JdbcBatchItemImportStaging implements ItemImportStaging {
+
+    private static final String INSERT_SQL = "INSERT INTO " + TABLE_COLUMNS + " VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void stage(String jobId, List<ItemImportRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (statement, row) -> {
+            statement.setString(1, jobId);
+            statement.setInt(2, row.getNumber());
+            statement.setLong(3, row.getItemId());
+            statement.setString(4, row.getName());
+            statement.setString(5, row.getDescription());
+            statement.setBoolean(6, row.getAvailable());
+            if (row.getRequestId() == null) {
+                statement.setNull(7, Types.BIGINT);
+            } else {
+                statement.setLong(7, row.getRequestId());
+            }
+        });
+    }
+}
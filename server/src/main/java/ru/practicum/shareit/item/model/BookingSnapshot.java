@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.Booking;
+
+import javax.persistence.Embeddable;
+import java.time.LocalDateTime;
+
+@Data
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingSnapshot {
+
+    private Long bookingId;
+    private Long bookerId;
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    public static BookingSnapshot of(Booking booking) {
+        return new BookingSnapshot(booking.getId(), booking.getBooker().getId(), booking.getStart(), booking.getEnd());
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+
+/**
+ * Last and next APPROVED booking of an item, copied out of bookings so that item views read one row per item.
+ */
+@Data
+@Entity
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "item_booking_pointers")
+public class ItemBookingPointer {
+
+    @Id
+    @Column(name = "item_id")
+    private Long itemId;
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "bookingId", column = @Column(name = "last_booking_id")),
+            @AttributeOverride(name = "bookerId", column = @Column(name = "last_booker_id")),
+            @AttributeOverride(name = "start", column = @Column(name = "last_start")),
+            @AttributeOverride(name = "end", column = @Column(name = "last_end"))
+    })
+    private BookingSnapshot last;
+    @Embedded
+    @AttributeOverrides({
+            @AttributeOverride(name = "bookingId", column = @Column(name = "next_booking_id")),
+            @AttributeOverride(name = "bookerId", column = @Column(name = "next_booker_id")),
+            @AttributeOverride(name = "start", column = @Column(name = "next_start")),
+            @AttributeOverride(name = "end", column = @Column(name = "next_end"))
+    })
+    private BookingSnapshot next;
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * PostgreSQL search over the generated items.search_vector column (see schema-postgresql.sql), ranked with
+ * ts_rank. Every word of the query is matched as a prefix.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.item.search.fulltext.engine", havingValue = "postgres")
+public class FullTextItemSearchEngine implements ItemSearchEngine {
+
+    private static final String SEARCH_SQL = "SELECT i.* FROM items i, to_tsquery('simple', :query) q " +
+            "WHERE i.is_available AND i.search_vector @@ q " +
+            "ORDER BY ts_rank(i.search_vector, q) DESC, i.id " +
+            "LIMIT :size OFFSET :offset";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public ItemSearchMode mode() {
+        return ItemSearchMode.FULLTEXT;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Item> search(String text, int from, int size) {
+        String query = toPrefixQuery(text);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createNativeQuery(SEARCH_SQL, Item.class)
+                .setParameter("query", query)
+                .setParameter("size", size)
+                .setParameter("offset", from * size)
+                .getResultList();
+    }
+
+    @Override
+    public boolean matches(String text, ItemDto item) {
+        return ItemSearchIndex.matches(text, item.getName(), item.getDescription());
+    }
+
+    static String toPrefixQuery(String text) {
+        return ItemSearchIndex.tokenize(text)
+                .stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
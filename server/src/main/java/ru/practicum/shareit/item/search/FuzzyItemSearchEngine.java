@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Typo-tolerant search over the term dictionary of {@link ItemSearchIndex}. Like the fulltext mode it loads only
+ * the requested page of items.
+ */
+@Component
+@RequiredArgsConstructor
+public class FuzzyItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemSearchIndex index;
+    private final ItemRepository repository;
+
+    @Override
+    public ItemSearchMode mode() {
+        return ItemSearchMode.FUZZY;
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return InvertedIndexItemSearchEngine.loadPage(repository, index.searchFuzzy(text), from, size);
+    }
+
+    @Override
+    public boolean matches(String text, ItemDto item) {
+        return ItemSearchIndex.matchesFuzzy(text, item.getName(), item.getDescription());
+    }
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Matches the text against {@link ItemSearchIndex} and loads only the requested page of items.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search.fulltext.engine", havingValue = "memory", matchIfMissing = true)
+public class InvertedIndexItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemSearchIndex index;
+    private final ItemRepository repository;
+
+    @Override
+    public ItemSearchMode mode() {
+        return ItemSearchMode.FULLTEXT;
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return loadPage(repository, index.search(text), from, size);
+    }
+
+    @Override
+    public boolean matches(String text, ItemDto item) {
+        return ItemSearchIndex.matches(text, item.getName(), item.getDescription());
+    }
+
+    static List<Item> loadPage(ItemRepository repository, long[] ids, int from, int size) {
+        List<Long> page = LongStream.of(ids)
+                .skip((long) from * size)
+                .limit(size)
+                .boxed()
+                .collect(Collectors.toList());
+        if (page.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Item> items = repository.findAllById(page)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        // Items deleted along with their owner are dropped from the page until the index is reloaded
+        return page.stream()
+                .map(items::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,325 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemsDeletedEvent;
+import ru.practicum.shareit.item.ItemsImportedEvent;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Completions of item names for the search box, served from an immutable trie over the names of available items.
+ * A name can be completed from the start of any of its words. Every trie node keeps its best completions:
+ * names shared by more items first, then alphabetically.
+ * Item changes only mark the trie dirty; it is rebuilt in the background so that lookups never wait. Changes made
+ * while a load reads its snapshot are replayed onto the snapshot before it replaces the names.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemNameSuggester {
+
+    static final int MAX_SUGGESTIONS = 10;
+    private static final String LOAD_SQL = "SELECT id, name FROM items WHERE is_available";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Map<Long, String> namesByItem = new ConcurrentHashMap<>();
+    // Guarded by itself, together with runningLoads and the swap of namesByItem
+    private final List<NameChange> changesDuringLoad = new ArrayList<>();
+    private int runningLoads;
+    private volatile boolean dirty;
+    private volatile NameTrie trie = NameTrie.build(List.of());
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int firstChange;
+        synchronized (changesDuringLoad) {
+            runningLoads++;
+            firstChange = changesDuringLoad.size();
+        }
+        // A fresh map is swapped in, so that names of items gone since the last load do not survive it
+        Map<Long, String> loaded = new ConcurrentHashMap<>();
+        try {
+            jdbcTemplate.query(LOAD_SQL, rs -> {
+                loaded.put(rs.getLong("id"), rs.getString("name"));
+            });
+        } catch (RuntimeException e) {
+            synchronized (changesDuringLoad) {
+                finishLoad();
+            }
+            throw e;
+        }
+        synchronized (changesDuringLoad) {
+            for (NameChange change : changesDuringLoad.subList(firstChange, changesDuringLoad.size())) {
+                change.applyTo(loaded);
+            }
+            namesByItem = loaded;
+            finishLoad();
+        }
+        dirty = true;
+        rebuildIfDirty();
+    }
+
+    public List<String> suggest(String prefix) {
+        String key = prefix.strip().toLowerCase();
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        return trie.complete(key);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        ItemDto item = event.getAfter();
+        NameChange change;
+        if (item != null && Boolean.TRUE.equals(item.getAvailable())) {
+            change = new NameChange(item.getId(), item.getName());
+        } else {
+            change = new NameChange((item != null ? item : event.getBefore()).getId(), null);
+        }
+        apply(change);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsImported(ItemsImportedEvent event) {
+        load();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsDeleted(ItemsDeletedEvent event) {
+        for (ItemDto item : event.getItems()) {
+            apply(new NameChange(item.getId(), null));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.item.suggest-rebuild-delay-ms:1000}")
+    public synchronized void rebuildIfDirty() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        trie = NameTrie.build(namesByItem.values());
+        log.debug("Item name trie rebuilt: {} names, {} nodes", trie.names.length, trie.labels.length);
+    }
+
+    private void apply(NameChange change) {
+        synchronized (changesDuringLoad) {
+            change.applyTo(namesByItem);
+            if (runningLoads > 0) {
+                changesDuringLoad.add(change);
+            }
+        }
+        dirty = true;
+    }
+
+    private void finishLoad() {
+        if (--runningLoads == 0) {
+            changesDuringLoad.clear();
+        }
+    }
+
+    /**
+     * Nodes are stored in flat arrays. The children of a node are contiguous and sorted by label, and node 0 is
+     * the root. top[node] holds the ranks of the best completions below the node, rank 0 being the best name.
+     */
+    static final class NameTrie {
+
+        private final String[] names;
+        private final char[] labels;
+        private final int[] firstChild;
+        private final int[] childCount;
+        private final int[][] top;
+
+        private NameTrie(String[] names, char[] labels, int[] firstChild, int[] childCount, int[][] top) {
+            this.names = names;
+            this.labels = labels;
+            this.firstChild = firstChild;
+            this.childCount = childCount;
+            this.top = top;
+        }
+
+        List<String> complete(String prefix) {
+            int node = 0;
+            for (int i = 0; i < prefix.length(); i++) {
+                node = child(node, prefix.charAt(i));
+                if (node < 0) {
+                    return List.of();
+                }
+            }
+            List<String> completions = new ArrayList<>(top[node].length);
+            for (int rank : top[node]) {
+                completions.add(names[rank]);
+            }
+            return completions;
+        }
+
+        private int child(int node, char label) {
+            int low = firstChild[node];
+            int high = low + childCount[node] - 1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (labels[middle] < label) {
+                    low = middle + 1;
+                } else if (labels[middle] > label) {
+                    high = middle - 1;
+                } else {
+                    return middle;
+                }
+            }
+            return -1;
+        }
+
+        static NameTrie build(Collection<String> itemNames) {
+            // Names differing only in case are one completion, shown as first seen and ranked by item count
+            Map<String, String> displayNames = new HashMap<>();
+            Map<String, Integer> counts = new HashMap<>();
+            for (String name : itemNames) {
+                String lower = name.toLowerCase();
+                displayNames.putIfAbsent(lower, name);
+                counts.merge(lower, 1, Integer::sum);
+            }
+            List<String> ranked = new ArrayList<>(counts.keySet());
+            ranked.sort(Comparator.comparing((String lower) -> -counts.get(lower)).thenComparing(lower -> lower));
+
+            List<Entry> entries = new ArrayList<>();
+            String[] names = new String[ranked.size()];
+            for (int rank = 0; rank < ranked.size(); rank++) {
+                String lower = ranked.get(rank);
+                names[rank] = displayNames.get(lower);
+                for (int start = 0; start < lower.length(); start++) {
+                    boolean wordStart = start == 0 || !Character.isLetterOrDigit(lower.charAt(start - 1));
+                    if (wordStart && Character.isLetterOrDigit(lower.charAt(start))) {
+                        entries.add(new Entry(lower.substring(start), rank));
+                    }
+                }
+            }
+            entries.sort(Comparator.comparing((Entry entry) -> entry.key).thenComparingInt(entry -> entry.rank));
+
+            Builder builder = new Builder(names);
+            builder.allocate(1);
+            builder.fill(0, entries, 0, entries.size(), 0);
+            return builder.toTrie();
+        }
+    }
+
+    /**
+     * The name of an item after a change, null if the item is gone or unavailable.
+     */
+    private static final class NameChange {
+
+        private final Long itemId;
+        private final String name;
+
+        NameChange(Long itemId, String name) {
+            this.itemId = itemId;
+            this.name = name;
+        }
+
+        void applyTo(Map<Long, String> names) {
+            if (name == null) {
+                names.remove(itemId);
+            } else {
+                names.put(itemId, name);
+            }
+        }
+    }
+
+    private static final class Entry {
+
+        private final String key;
+        private final int rank;
+
+        Entry(String key, int rank) {
+            this.key = key;
+            this.rank = rank;
+        }
+    }
+
+    private static final class Builder {
+
+        private final String[] names;
+        private char[] labels = new char[16];
+        private int[] firstChild = new int[16];
+        private int[] childCount = new int[16];
+        private int[][] top = new int[16][];
+        private int size;
+
+        Builder(String[] names) {
+            this.names = names;
+        }
+
+        int allocate(int count) {
+            int first = size;
+            size += count;
+            if (size > labels.length) {
+                int capacity = Math.max(size, labels.length * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                childCount = Arrays.copyOf(childCount, capacity);
+                top = Arrays.copyOf(top, capacity);
+            }
+            return first;
+        }
+
+        /**
+         * Builds the subtree of a node from the sorted entries [from, to), which all share their first depth
+         * characters.
+         */
+        void fill(int node, List<Entry> entries, int from, int to, int depth) {
+            List<Integer> candidates = new ArrayList<>();
+            int position = from;
+            while (position < to && entries.get(position).key.length() == depth) {
+                candidates.add(entries.get(position++).rank);
+            }
+            List<int[]> groups = new ArrayList<>();
+            while (position < to) {
+                char label = entries.get(position).key.charAt(depth);
+                int end = position;
+                while (end < to && entries.get(end).key.charAt(depth) == label) {
+                    end++;
+                }
+                groups.add(new int[]{position, end});
+                position = end;
+            }
+
+            int first = allocate(groups.size());
+            firstChild[node] = first;
+            childCount[node] = groups.size();
+            for (int i = 0; i < groups.size(); i++) {
+                int child = first + i;
+                int[] group = groups.get(i);
+                labels[child] = entries.get(group[0]).key.charAt(depth);
+                fill(child, entries, group[0], group[1], depth + 1);
+                for (int rank : top[child]) {
+                    candidates.add(rank);
+                }
+            }
+            top[node] = candidates.stream()
+                    .mapToInt(Integer::intValue)
+                    .distinct()
+                    .sorted()
+                    .limit(MAX_SUGGESTIONS)
+                    .toArray();
+        }
+
+        NameTrie toTrie() {
+            return new NameTrie(names, Arrays.copyOf(labels, size), Arrays.copyOf(firstChild, size),
+                    Arrays.copyOf(childCount, size), Arrays.copyOf(top, size));
+        }
+    }
+}
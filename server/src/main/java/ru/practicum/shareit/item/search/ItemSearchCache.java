@@ -0,0 +1,171 @@
+package ru.practicum.shareit.item.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemsDeletedEvent;
+import ru.practicum.shareit.item.ItemsImportedEvent;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pages of search results, bounded by weight and evicted by Caffeine's W-TinyLFU policy. A committed
+ * {@link ItemChangedEvent} invalidates every page of the queries that match the item before or after the change;
+ * so does an {@link ItemsDeletedEvent} for each of its items. A bulk import invalidates everything.
+ * <p>
+ * Finding the matching queries takes a pass over every cached page, so it runs on the task executor rather than
+ * on the committing thread; until it is done, searches bypass the cache. Keys hold the text as the engine of the
+ * mode normalises it, and callers get copies of the cached items. Statistics are published as the itemSearch cache
+ * metrics.
+ */
+@Component
+public class ItemSearchCache {
+
+    private final Cache<Key, List<ItemDto>> pages;
+    private final ItemSearchEngines engines;
+    private final TaskExecutor taskExecutor;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicInteger pendingInvalidations = new AtomicInteger();
+
+    public ItemSearchCache(ItemSearchEngines engines, ItemSearchProperties properties, MeterRegistry meterRegistry,
+                           @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor) {
+        this.engines = engines;
+        this.taskExecutor = taskExecutor;
+        this.pages = Caffeine.newBuilder()
+                .maximumWeight(properties.getCache().getMaximumWeight())
+                .weigher(ItemSearchCache::weigh)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "itemSearch");
+    }
+
+    public List<ItemDto> get(String text, ItemSearchMode mode, int from, int size, Supplier<List<ItemDto>> loader) {
+        Key key = new Key(engines.normalize(text, mode), mode, from, size);
+        if (pendingInvalidations.get() == 0) {
+            List<ItemDto> page = pages.getIfPresent(key);
+            if (page != null) {
+                return copyOf(page);
+            }
+        }
+        // A page loaded while a change was being invalidated may already be stale, so it is not kept
+        long seen = invalidations.get();
+        List<ItemDto> page = List.copyOf(loader.get());
+        if (pendingInvalidations.get() == 0 && invalidations.get() == seen) {
+            pages.put(key, page);
+        }
+        return copyOf(page);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        List<ItemDto> items = Arrays.asList(event.getBefore(), event.getAfter());
+        inBackground(() -> invalidate(items));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsImported(ItemsImportedEvent event) {
+        invalidations.incrementAndGet();
+        pages.invalidateAll();
+        invalidations.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsDeleted(ItemsDeletedEvent event) {
+        inBackground(() -> invalidate(event.getItems()));
+    }
+
+    private void inBackground(Runnable invalidation) {
+        pendingInvalidations.incrementAndGet();
+        invalidations.incrementAndGet();
+        Runnable task = () -> {
+            try {
+                invalidation.run();
+            } finally {
+                invalidations.incrementAndGet();
+                pendingInvalidations.decrementAndGet();
+            }
+        };
+        try {
+            taskExecutor.execute(task);
+        } catch (TaskRejectedException e) {
+            task.run();
+        }
+    }
+
+    /**
+     * Invalidates every page of the queries that match any of the items.
+     */
+    private void invalidate(List<ItemDto> items) {
+        Map<Query, Boolean> affected = new HashMap<>();
+        List<Key> stale = new ArrayList<>();
+        for (Key key : pages.asMap().keySet()) {
+            boolean isAffected = affected.computeIfAbsent(new Query(key.getText(), key.getMode()),
+                    query -> items.stream().anyMatch(item -> matches(query, item)));
+            if (isAffected) {
+                stale.add(key);
+            }
+        }
+        pages.invalidateAll(stale);
+    }
+
+    /**
+     * Does not look at availability: a page may hold an item that was available when it was read.
+     */
+    private boolean matches(Query query, ItemDto item) {
+        return item != null && engines.matches(query.getText(), query.getMode(), item);
+    }
+
+    private static List<ItemDto> copyOf(List<ItemDto> page) {
+        List<ItemDto> copy = new ArrayList<>(page.size());
+        for (ItemDto item : page) {
+            copy.add(ItemDto.builder()
+                    .id(item.getId())
+                    .name(item.getName())
+                    .description(item.getDescription())
+                    .available(item.getAvailable())
+                    .requestId(item.getRequestId())
+                    .build());
+        }
+        return copy;
+    }
+
+    private static int weigh(Key key, List<ItemDto> page) {
+        int weight = key.getText().length();
+        for (ItemDto item : page) {
+            weight += item.getName().length() + item.getDescription().length();
+        }
+        return Math.max(weight, 1);
+    }
+
+    @Value
+    private static class Query {
+
+        String text;
+        ItemSearchMode mode;
+    }
+
+    @Value
+    private static class Key {
+
+        String text;
+        ItemSearchMode mode;
+        int from;
+        int size;
+    }
+}
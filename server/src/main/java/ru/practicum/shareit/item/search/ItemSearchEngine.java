@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Finds available items whose name or description matches a free-text query. One engine serves each
+ * {@link ItemSearchMode}; it is selected with the shareit.item.search.substring.engine and
+ * shareit.item.search.fulltext.engine properties.
+ */
+public interface ItemSearchEngine {
+
+    ItemSearchMode mode();
+
+    List<Item> search(String text, int from, int size);
+
+    /**
+     * The text reduced to what the engine looks at: texts normalised alike find the same items. Every engine here
+     * ignores case; one that does not must return the text as is.
+     */
+    default String normalize(String text) {
+        return text.toLowerCase();
+    }
+
+    /**
+     * Whether the item would be found by the text. May err towards true, never towards false.
+     */
+    boolean matches(String text, ItemDto item);
+}
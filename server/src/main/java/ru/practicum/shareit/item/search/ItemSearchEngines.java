@@ -0,0 +1,49 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dispatches a search to the engine configured for its mode.
+ */
+@Component
+public class ItemSearchEngines {
+
+    private final Map<ItemSearchMode, ItemSearchEngine> engines = new EnumMap<>(ItemSearchMode.class);
+    private final ItemSearchProperties properties;
+
+    public ItemSearchEngines(List<ItemSearchEngine> engines, ItemSearchProperties properties) {
+        engines.forEach(engine -> this.engines.put(engine.mode(), engine));
+        this.properties = properties;
+    }
+
+    public ItemSearchMode resolve(ItemSearchMode mode) {
+        return mode != null ? mode : properties.getDefaultMode();
+    }
+
+    public List<Item> search(String text, ItemSearchMode mode, int from, int size) {
+        return engineFor(mode).search(text, from, size);
+    }
+
+    public String normalize(String text, ItemSearchMode mode) {
+        return engineFor(mode).normalize(text);
+    }
+
+    public boolean matches(String text, ItemSearchMode mode, ItemDto item) {
+        return engineFor(mode).matches(text, item);
+    }
+
+    private ItemSearchEngine engineFor(ItemSearchMode mode) {
+        ItemSearchMode searchMode = resolve(mode);
+        ItemSearchEngine engine = engines.get(searchMode);
+        if (engine == null) {
+            throw new IllegalStateException("No search engine is configured for mode " + searchMode);
+        }
+        return engine;
+    }
+}
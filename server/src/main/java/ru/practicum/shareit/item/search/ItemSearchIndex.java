@@ -0,0 +1,498 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemsDeletedEvent;
+import ru.practicum.shareit.item.ItemsImportedEvent;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory inverted index over the names and descriptions of available items: every token maps to a sorted
+ * array of item ids. Loaded from the items table once the application is ready, patched after every committed
+ * {@link ItemChangedEvent} or {@link ItemsDeletedEvent} and reloaded after a bulk import. Patches made while a load reads its
+ * snapshot are replayed onto the snapshot when it is installed, as they may be missing from it.
+ * <p>
+ * The tokens also form the dictionary of the fuzzy search: they are indexed by their bigrams, candidates sharing
+ * enough bigrams with a query word are collected and then verified with a bounded Levenshtein distance.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ItemSearchIndex {
+
+    private static final String LOAD_SQL = "SELECT id, name, description FROM items WHERE is_available ORDER BY id";
+    private static final long[] NO_IDS = new long[0];
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private NavigableMap<String, long[]> postings = new TreeMap<>();
+    private Map<Long, String[]> termsByItem = new HashMap<>();
+    private Map<String, Set<String>> termsByBigram = new HashMap<>();
+    // Guarded by the write lock, like the index itself
+    private final List<Patch> patchesDuringLoad = new ArrayList<>();
+    private int runningLoads;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        Loader loader = new Loader();
+        try {
+            jdbcTemplate.query(LOAD_SQL, rs -> {
+                loader.add(rs.getLong("id"), rs.getString("name"), rs.getString("description"));
+            });
+        } catch (RuntimeException e) {
+            loader.abandon();
+            throw e;
+        }
+        loader.install();
+    }
+
+    /**
+     * Replaces the whole index with the given available items, ordered by id.
+     */
+    void load(Collection<ItemDto> items) {
+        Loader loader = new Loader();
+        items.forEach(item -> loader.add(item.getId(), item.getName(), item.getDescription()));
+        loader.install();
+    }
+
+    /**
+     * Ids of available items that contain every word of the text as a prefix of some token, in ascending order.
+     */
+    public long[] search(String text) {
+        List<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) {
+            return NO_IDS;
+        }
+        lock.readLock().lock();
+        try {
+            List<long[]> matches = new ArrayList<>(tokens.size());
+            for (String token : new LinkedHashSet<>(tokens)) {
+                long[] ids = prefixUnion(token);
+                if (ids.length == 0) {
+                    return NO_IDS;
+                }
+                matches.add(ids);
+            }
+            matches.sort(Comparator.comparingInt(ids -> ids.length));
+            long[] result = matches.get(0);
+            for (int i = 1; i < matches.size() && result.length > 0; i++) {
+                result = intersect(result, matches.get(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of available items that contain, for every word of the text, a token within the word's edit distance
+     * budget (see {@link #maxEdits}), in ascending order.
+     */
+    public long[] searchFuzzy(String text) {
+        List<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) {
+            return NO_IDS;
+        }
+        lock.readLock().lock();
+        try {
+            long[] result = null;
+            for (String token : new LinkedHashSet<>(tokens)) {
+                long[] ids = unionAll(similarTerms(token).stream()
+                        .map(postings::get)
+                        .collect(Collectors.toList()));
+                result = result == null ? ids : intersect(result, ids);
+                if (result.length == 0) {
+                    return NO_IDS;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemChanged(ItemChangedEvent event) {
+        ItemDto item = event.getAfter();
+        if (item == null) {
+            replace(event.getBefore().getId(), new String[0]);
+        } else if (Boolean.TRUE.equals(item.getAvailable())) {
+            replace(item.getId(), termsOf(item.getName(), item.getDescription()));
+        } else {
+            replace(item.getId(), new String[0]);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsImported(ItemsImportedEvent event) {
+        load();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemsDeleted(ItemsDeletedEvent event) {
+        for (ItemDto item : event.getItems()) {
+            replace(item.getId(), new String[0]);
+        }
+    }
+
+    /**
+     * Whether {@link #search} would find an available item with this name and description.
+     */
+    static boolean matches(String text, String name, String description) {
+        List<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) {
+            return false;
+        }
+        String[] terms = termsOf(name, description);
+        return tokens.stream().allMatch(token -> Arrays.stream(terms).anyMatch(term -> term.startsWith(token)));
+    }
+
+    /**
+     * Whether {@link #searchFuzzy} would find an available item with this name and description.
+     */
+    static boolean matchesFuzzy(String text, String name, String description) {
+        List<String> tokens = tokenize(text);
+        if (tokens.isEmpty()) {
+            return false;
+        }
+        String[] terms = termsOf(name, description);
+        return tokens.stream().allMatch(token -> Arrays.stream(terms)
+                .anyMatch(term -> distance(token, term, maxEdits(token)) <= maxEdits(token)));
+    }
+
+    /**
+     * Edits allowed in a query word: none up to two characters, one up to five and two for longer words, since a
+     * short word is within two edits of almost every other short word.
+     */
+    static int maxEdits(String token) {
+        if (token.length() <= 2) {
+            return 0;
+        }
+        return token.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Levenshtein distance between the words, or max + 1 as soon as it is known to exceed max.
+     */
+    static int distance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase().split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static String[] termsOf(String name, String description) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(name));
+        terms.addAll(tokenize(description));
+        return terms.toArray(new String[0]);
+    }
+
+    private void replace(long itemId, String[] terms) {
+        lock.writeLock().lock();
+        try {
+            apply(itemId, terms);
+            if (runningLoads > 0) {
+                patchesDuringLoad.add(new Patch(itemId, terms));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the terms of the item, none removing it. The caller holds the write lock.
+     */
+    private void apply(long itemId, String[] terms) {
+        String[] previous = terms.length == 0 ? termsByItem.remove(itemId) : termsByItem.put(itemId, terms);
+        if (previous != null) {
+            for (String term : previous) {
+                long[] ids = postings.get(term);
+                if (ids == null) {
+                    continue;
+                }
+                long[] updated = without(ids, itemId);
+                if (updated.length == 0) {
+                    postings.remove(term);
+                    removeBigrams(termsByBigram, term);
+                } else {
+                    postings.put(term, updated);
+                }
+            }
+        }
+        for (String term : terms) {
+            long[] ids = postings.get(term);
+            if (ids == null) {
+                addBigrams(termsByBigram, term);
+                ids = NO_IDS;
+            }
+            postings.put(term, with(ids, itemId));
+        }
+    }
+
+    /**
+     * Terms within the edit budget of the token. A term within k edits shares all but at most 2k of the token's
+     * padded bigrams, so only terms reaching that count are verified.
+     */
+    private List<String> similarTerms(String token) {
+        int maxEdits = maxEdits(token);
+        if (maxEdits == 0) {
+            return postings.containsKey(token) ? List.of(token) : List.of();
+        }
+        List<String> bigrams = bigramsOf(token);
+        int required = bigrams.size() - 2 * maxEdits;
+        Map<String, Integer> shared = new HashMap<>();
+        for (String bigram : bigrams) {
+            for (String term : termsByBigram.getOrDefault(bigram, Set.of())) {
+                shared.merge(term, 1, Integer::sum);
+            }
+        }
+        List<String> terms = new ArrayList<>();
+        shared.forEach((term, count) -> {
+            if (count >= required && distance(token, term, maxEdits) <= maxEdits) {
+                terms.add(term);
+            }
+        });
+        return terms;
+    }
+
+    private static List<String> bigramsOf(String term) {
+        String padded = "^" + term + "$";
+        List<String> bigrams = new ArrayList<>(padded.length() - 1);
+        for (int i = 0; i + 2 <= padded.length(); i++) {
+            bigrams.add(padded.substring(i, i + 2));
+        }
+        return bigrams;
+    }
+
+    private static void addBigrams(Map<String, Set<String>> termsByBigram, String term) {
+        for (String bigram : bigramsOf(term)) {
+            termsByBigram.computeIfAbsent(bigram, b -> new HashSet<>()).add(term);
+        }
+    }
+
+    private static void removeBigrams(Map<String, Set<String>> termsByBigram, String term) {
+        for (String bigram : bigramsOf(term)) {
+            Set<String> terms = termsByBigram.get(bigram);
+            if (terms != null && terms.remove(term) && terms.isEmpty()) {
+                termsByBigram.remove(bigram);
+            }
+        }
+    }
+
+    private long[] prefixUnion(String prefix) {
+        return unionAll(postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values());
+    }
+
+    /**
+     * Many postings can take part, for short prefixes especially, so they are gathered and sorted once instead of
+     * merged one after another.
+     */
+    private static long[] unionAll(Collection<long[]> postingLists) {
+        if (postingLists.size() <= 1) {
+            return postingLists.isEmpty() ? NO_IDS : postingLists.iterator().next();
+        }
+        int total = 0;
+        for (long[] ids : postingLists) {
+            total += ids.length;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (long[] ids : postingLists) {
+            System.arraycopy(ids, 0, all, offset, ids.length);
+            offset += ids.length;
+        }
+        Arrays.sort(all);
+        int size = 0;
+        for (long id : all) {
+            if (size == 0 || all[size - 1] != id) {
+                all[size++] = id;
+            }
+        }
+        return Arrays.copyOf(all, size);
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[size++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static long[] with(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position >= 0) {
+            return ids;
+        }
+        int insertion = -position - 1;
+        long[] result = new long[ids.length + 1];
+        System.arraycopy(ids, 0, result, 0, insertion);
+        result[insertion] = id;
+        System.arraycopy(ids, insertion, result, insertion + 1, ids.length - insertion);
+        return result;
+    }
+
+    private static long[] without(long[] ids, long id) {
+        int position = Arrays.binarySearch(ids, id);
+        if (position < 0) {
+            return ids;
+        }
+        long[] result = new long[ids.length - 1];
+        System.arraycopy(ids, 0, result, 0, position);
+        System.arraycopy(ids, position + 1, result, position, ids.length - position - 1);
+        return result;
+    }
+
+    private class Loader {
+
+        private final Map<String, PostingBuilder> builders = new HashMap<>();
+        private final Map<Long, String[]> loadedTerms = new HashMap<>();
+        private final int firstPatch;
+
+        Loader() {
+            lock.writeLock().lock();
+            try {
+                runningLoads++;
+                firstPatch = patchesDuringLoad.size();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void add(long id, String name, String description) {
+            String[] terms = termsOf(name, description);
+            for (String term : terms) {
+                builders.computeIfAbsent(term, t -> new PostingBuilder()).add(id);
+            }
+            loadedTerms.put(id, terms);
+        }
+
+        void install() {
+            NavigableMap<String, long[]> loaded = new TreeMap<>();
+            Map<String, Set<String>> loadedBigrams = new HashMap<>();
+            builders.forEach((term, builder) -> {
+                loaded.put(term, builder.toArray());
+                addBigrams(loadedBigrams, term);
+            });
+
+            lock.writeLock().lock();
+            try {
+                postings = loaded;
+                termsByItem = loadedTerms;
+                termsByBigram = loadedBigrams;
+                for (Patch patch : patchesDuringLoad.subList(firstPatch, patchesDuringLoad.size())) {
+                    apply(patch.itemId, patch.terms);
+                }
+                finish();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Item search index loaded: {} items, {} terms", loadedTerms.size(), loaded.size());
+        }
+
+        void abandon() {
+            lock.writeLock().lock();
+            try {
+                finish();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void finish() {
+            if (--runningLoads == 0) {
+                patchesDuringLoad.clear();
+            }
+        }
+    }
+
+    private static final class Patch {
+
+        private final long itemId;
+        private final String[] terms;
+
+        Patch(long itemId, String[] terms) {
+            this.itemId = itemId;
+            this.terms = terms;
+        }
+    }
+
+    private static class PostingBuilder {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.search;
+
+public enum ItemSearchMode {
+    // Любая подстрока названия или описания
+    SUBSTRING,
+    // Слова запроса как префиксы слов вещи
+    FULLTEXT,
+    // Слова запроса с опечатками: до двух правок в каждом слове
+    FUZZY
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.item.search")
+public class ItemSearchProperties {
+
+    /**
+     * Mode used when a search request does not name one.
+     */
+    private ItemSearchMode defaultMode = ItemSearchMode.SUBSTRING;
+
+    /**
+     * Minimal pg_trgm word similarity of a fuzzy substring match (PostgreSQL only).
+     */
+    private double similarityThreshold = 0.5;
+
+    private final Cache cache = new Cache();
+
+    @Data
+    public static class Cache {
+
+        /**
+         * Upper bound of the summed weight of cached pages, one unit per character of the text and of every
+         * item name and description.
+         */
+        private long maximumWeight = 10_000_000;
+    }
+}
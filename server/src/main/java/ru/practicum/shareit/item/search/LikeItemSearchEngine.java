@@ -0,0 +1,36 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search.substring.engine", havingValue = "like", matchIfMissing = true)
+public class LikeItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository repository;
+
+    @Override
+    public ItemSearchMode mode() {
+        return ItemSearchMode.SUBSTRING;
+    }
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        return repository.searchAvailable(text, PageRequest.of(from, size));
+    }
+
+    @Override
+    public boolean matches(String text, ItemDto item) {
+        String lowerText = text.toLowerCase();
+        return item.getName().toLowerCase().contains(lowerText)
+                || item.getDescription().toLowerCase().contains(lowerText);
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * PostgreSQL substring search backed by the pg_trgm GIN indexes on items.name and items.description
+ * (see schema-postgresql.sql). Exact substrings always match; a name or description whose word similarity to
+ * the text reaches the configured threshold matches as well. Results are ordered by similarity.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.item.search.substring.engine", havingValue = "trigram")
+public class TrigramItemSearchEngine implements ItemSearchEngine {
+
+    // The threshold is read by the <% operator, so it is set for the current transaction only
+    private static final String THRESHOLD_SQL =
+            "SELECT set_config('pg_trgm.word_similarity_threshold', :threshold, true)";
+    private static final String SEARCH_SQL = "SELECT i.* FROM items i " +
+            "WHERE i.is_available AND (i.name ILIKE :pattern OR i.description ILIKE :pattern " +
+            "OR :text <% i.name OR :text <% i.description) " +
+            "ORDER BY greatest(word_similarity(:text, i.name), word_similarity(:text, i.description)) DESC, i.id " +
+            "LIMIT :size OFFSET :offset";
+
+    private final ItemSearchProperties properties;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public ItemSearchMode mode() {
+        return ItemSearchMode.SUBSTRING;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Item> search(String text, int from, int size) {
+        entityManager.createNativeQuery(THRESHOLD_SQL)
+                .setParameter("threshold", String.valueOf(properties.getSimilarityThreshold()))
+                .getSingleResult();
+        return entityManager.createNativeQuery(SEARCH_SQL, Item.class)
+                .setParameter("pattern", toContainsPattern(text))
+                .setParameter("text", text)
+                .setParameter("size", size)
+                .setParameter("offset", from * size)
+                .getResultList();
+    }
+
+    @Override
+    public boolean matches(String text, ItemDto item) {
+        String lowerText = text.toLowerCase();
+        if (item.getName().toLowerCase().contains(lowerText)
+                || item.getDescription().toLowerCase().contains(lowerText)) {
+            return true;
+        }
+        // The share of the text's trigrams found anywhere in a value bounds its word_similarity from above
+        Set<String> trigrams = trigramsOf(text);
+        Set<String> itemTrigrams = trigramsOf(item.getName());
+        itemTrigrams.addAll(trigramsOf(item.getDescription()));
+        long shared = trigrams.stream().filter(itemTrigrams::contains).count();
+        return !trigrams.isEmpty() && shared >= properties.getSimilarityThreshold() * trigrams.size();
+    }
+
+    static String toContainsPattern(String text) {
+        return "%" + text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_") + "%";
+    }
+
+    /**
+     * Trigrams as pg_trgm extracts them: every word is lower-cased and padded with two spaces in front and one
+     * behind.
+     */
+    static Set<String> trigramsOf(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : ItemSearchIndex.tokenize(text)) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+}
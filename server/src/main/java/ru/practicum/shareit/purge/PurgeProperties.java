@@ -0,0 +1,14 @@
+package ru.practicum.shareit.purge;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.purge")
+public class PurgeProperties {
+
+    /**
+     * Rows deleted per transaction.
+     */
+    private int batchSize = 500;
+}
@@ -0,0 +1,186 @@
+package ru.practicum.shareit.purge;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.BookingOverlapIndex;
+import ru.practicum.shareit.item.ItemBookingPointerService;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Deletes the users and items that were marked deleted, together with the bookings, comments, items and requests
+ * that refer to them. Rows go in batches, each in its own short transaction, so that a purge never holds many locks
+ * at once. A purge that fails, for example because a booking was added meanwhile, is retried on the next run.
+ * Progress is published as the shareit.purge.pending and shareit.purge.deleted metrics.
+ */
+@Slf4j
+@Component
+public class PurgeWorker {
+
+    private static final String DELETED_ITEMS_SQL = "SELECT id FROM items WHERE deleted ORDER BY id LIMIT ?";
+    private static final String DELETED_USERS_SQL = "SELECT id FROM users WHERE deleted ORDER BY id LIMIT ?";
+    private static final String COUNT_DELETED_ITEMS_SQL = "SELECT COUNT(*) FROM items WHERE deleted";
+    private static final String COUNT_DELETED_USERS_SQL = "SELECT COUNT(*) FROM users WHERE deleted";
+    private static final String BOOKINGS_OF_ITEM_SQL = "SELECT id, item_id FROM bookings WHERE item_id = ? LIMIT ?";
+    private static final String BOOKINGS_OF_BOOKER_SQL = "SELECT id, item_id FROM bookings WHERE booker_id = ? " +
+            "LIMIT ?";
+    private static final String BOOKINGS_OF_OWNER_SQL = "SELECT b.id, b.item_id FROM bookings b " +
+            "JOIN items i ON i.id = b.item_id WHERE i.user_id = ? LIMIT ?";
+    private static final String COMMENTS_OF_ITEM_SQL = "SELECT id FROM comments WHERE item_id = ? LIMIT ?";
+    private static final String COMMENTS_OF_AUTHOR_SQL = "SELECT id FROM comments WHERE author_id = ? LIMIT ?";
+    private static final String COMMENTS_OF_OWNER_SQL = "SELECT c.id FROM comments c " +
+            "JOIN items i ON i.id = c.item_id WHERE i.user_id = ? LIMIT ?";
+    private static final String ANSWERS_TO_REQUESTER_SQL = "SELECT i.id FROM items i " +
+            "JOIN requests r ON r.id = i.request_id WHERE r.requester_id = ? LIMIT ?";
+    private static final String ITEMS_OF_OWNER_SQL = "SELECT id FROM items WHERE user_id = ? LIMIT ?";
+    private static final String REQUESTS_OF_REQUESTER_SQL = "SELECT id FROM requests WHERE requester_id = ? LIMIT ?";
+    private static final String DETACH_ANSWERS_SQL = "UPDATE items SET request_id = NULL WHERE id IN (:ids)";
+    private static final String DELETE_ITEM_SQL = "DELETE FROM items WHERE id = ? AND deleted";
+    private static final String DELETE_USER_SQL = "DELETE FROM users WHERE id = ? AND deleted";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BookingOverlapIndex overlapIndex;
+    private final ItemBookingPointerService pointerService;
+    private final int batchSize;
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong pendingItems = new AtomicLong();
+    private final AtomicLong pendingUsers = new AtomicLong();
+
+    public PurgeWorker(JdbcTemplate jdbcTemplate, NamedParameterJdbcTemplate namedJdbcTemplate,
+                       PlatformTransactionManager transactionManager, BookingOverlapIndex overlapIndex,
+                       ItemBookingPointerService pointerService, PurgeProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = namedJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.overlapIndex = overlapIndex;
+        this.pointerService = pointerService;
+        this.batchSize = properties.getBatchSize();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("shareit.purge.pending", pendingItems, AtomicLong::get)
+                .description("Items marked deleted and not purged yet")
+                .tag("entity", "items")
+                .register(meterRegistry);
+        Gauge.builder("shareit.purge.pending", pendingUsers, AtomicLong::get)
+                .description("Users marked deleted and not purged yet")
+                .tag("entity", "users")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${shareit.purge.delay-ms:10000}",
+            fixedDelayString = "${shareit.purge.delay-ms:10000}")
+    public void purge() {
+        for (Long itemId : jdbcTemplate.queryForList(DELETED_ITEMS_SQL, Long.class, batchSize)) {
+            try {
+                purgeItem(itemId);
+            } catch (DataAccessException e) {
+                log.warn("Purge of item {} failed, it will be retried", itemId, e);
+            }
+        }
+        for (Long userId : jdbcTemplate.queryForList(DELETED_USERS_SQL, Long.class, batchSize)) {
+            try {
+                purgeUser(userId);
+            } catch (DataAccessException e) {
+                log.warn("Purge of user {} failed, it will be retried", userId, e);
+            }
+        }
+        pendingItems.set(jdbcTemplate.queryForObject(COUNT_DELETED_ITEMS_SQL, Long.class));
+        pendingUsers.set(jdbcTemplate.queryForObject(COUNT_DELETED_USERS_SQL, Long.class));
+    }
+
+    private void purgeItem(Long itemId) {
+        deleteBookings(BOOKINGS_OF_ITEM_SQL, itemId);
+        deleteRows("comments", COMMENTS_OF_ITEM_SQL, itemId);
+        deleted("items").increment(jdbcTemplate.update(DELETE_ITEM_SQL, itemId));
+        log.info("Item {} purged", itemId);
+    }
+
+    private void purgeUser(Long userId) {
+        long bookings = deleteBookings(BOOKINGS_OF_BOOKER_SQL, userId) + deleteBookings(BOOKINGS_OF_OWNER_SQL, userId);
+        long comments = deleteRows("comments", COMMENTS_OF_AUTHOR_SQL, userId)
+                + deleteRows("comments", COMMENTS_OF_OWNER_SQL, userId);
+        // Items of other owners that answer the user's requests stay, without the request
+        inBatches(() -> {
+            List<Long> ids = jdbcTemplate.queryForList(ANSWERS_TO_REQUESTER_SQL, Long.class, userId, batchSize);
+            if (!ids.isEmpty()) {
+                namedJdbcTemplate.update(DETACH_ANSWERS_SQL, Map.of("ids", ids));
+            }
+            return ids.size();
+        });
+        // The items were dropped from the search structures when they were marked deleted
+        long items = deleteRows("items", ITEMS_OF_OWNER_SQL, userId);
+        long requests = deleteRows("requests", REQUESTS_OF_REQUESTER_SQL, userId);
+        deleted("users").increment(jdbcTemplate.update(DELETE_USER_SQL, userId));
+        log.info("User {} purged with {} bookings, {} comments, {} items and {} requests", userId, bookings,
+                comments, items, requests);
+    }
+
+    private long deleteBookings(String selectSql, Long id) {
+        long count = inBatches(() -> {
+            Map<Long, Long> itemIdsByBookingId = new HashMap<>();
+            jdbcTemplate.query(selectSql, rs -> {
+                itemIdsByBookingId.put(rs.getLong("id"), rs.getLong("item_id"));
+            }, id, batchSize);
+            if (itemIdsByBookingId.isEmpty()) {
+                return 0;
+            }
+            namedJdbcTemplate.update("DELETE FROM bookings WHERE id IN (:ids)",
+                    Map.of("ids", itemIdsByBookingId.keySet()));
+            // Other owners' items may have lost bookings of the deleted user
+            Set<Long> itemIds = new HashSet<>(itemIdsByBookingId.values());
+            overlapIndex.evict(itemIds);
+            pointerService.refresh(itemIds);
+            return itemIdsByBookingId.size();
+        });
+        deleted("bookings").increment(count);
+        return count;
+    }
+
+    private long deleteRows(String table, String selectSql, Long id) {
+        long count = inBatches(() -> {
+            List<Long> ids = jdbcTemplate.queryForList(selectSql, Long.class, id, batchSize);
+            if (!ids.isEmpty()) {
+                namedJdbcTemplate.update("DELETE FROM " + table + " WHERE id IN (:ids)", Map.of("ids", ids));
+            }
+            return ids.size();
+        });
+        deleted(table).increment(count);
+        return count;
+    }
+
+    /**
+     * Runs the batch in a transaction of its own until it handles fewer rows than the batch size.
+     */
+    private long inBatches(Supplier<Integer> batch) {
+        long total = 0;
+        int count;
+        do {
+            count = transactionTemplate.execute(status -> batch.get());
+            total += count;
+        } while (count == batchSize);
+        return total;
+    }
+
+    private Counter deleted(String table) {
+        return Counter.builder("shareit.purge.deleted")
+                .description("Rows deleted by the purge")
+                .tag("table", table)
+                .register(meterRegistry);
+    }
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestInDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutDto;
@@ -22,15 +24,22 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public List<ItemRequestOutDto> getUserRequestsWithAnswers(@RequestHeader("X-Sharer-User-Id") Long userId) {
-        return requestService.getUserRequestsWithAnswers(userId);
+    public ResponseEntity<List<ItemRequestOutDto>> getUserRequestsWithAnswers(
+            @RequestHeader("X-Sharer-User-Id") Long userId,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int size) {
+        return withNextCursor(requestService.getUserRequestsWithAnswers(userId, after, size), size);
     }
 
     @GetMapping("/all")
-    public List<ItemRequestOutDto> getRequestsOfOthers(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                       @RequestParam(defaultValue = "0") int from,
-                                                       @RequestParam(defaultValue = "10") int size) {
-        return requestService.getRequestsOfOthers(userId, from, size);
+    public ResponseEntity<List<ItemRequestOutDto>> getRequestsOfOthers(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                                       @RequestParam(defaultValue = "0") int from,
+                                                                       @RequestParam(defaultValue = "10") int size,
+                                                                       @RequestParam(required = false) String after) {
+        List<ItemRequestOutDto> requests = after == null
+                ? requestService.getRequestsOfOthers(userId, from, size)
+                : requestService.getRequestsOfOthers(userId, after, size);
+        return withNextCursor(requests, size);
     }
 
     @GetMapping("/{requestId}")
@@ -38,4 +47,14 @@ public class ItemRequestController {
                                             @PathVariable Long requestId) {
         return requestService.getItemRequest(userId, requestId);
     }
+
+    private ResponseEntity<List<ItemRequestOutDto>> withNextCursor(List<ItemRequestOutDto> requests, int size) {
+        if (requests.isEmpty() || requests.size() < size) {
+            return ResponseEntity.ok(requests);
+        }
+        ItemRequestOutDto last = requests.get(requests.size() - 1);
+        return ResponseEntity.ok()
+                .header(KeysetCursor.NEXT_CURSOR_HEADER, new KeysetCursor(last.getCreated(), last.getId()).encode())
+                .body(requests);
+    }
 }
@@ -0,0 +1,84 @@
+package ru.practicum.shareit.request;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestOutDto;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * The newest requests of all users with their answers, read at most once per ttl and shared by everyone opening
+ * the first page of the requests of others; each user's own requests are filtered out in memory. Pages the feed
+ * cannot fill, because the user's own requests take too much of it or the page is larger than the feed, are left
+ * to the database. Statistics are published as the requestFeed cache metrics.
+ */
+@Component
+public class ItemRequestFeed {
+
+    private static final Boolean NEWEST = Boolean.TRUE;
+
+    private final ItemRequestRepository repository;
+    private final int size;
+    private final Cache<Boolean, List<ItemRequestOutDto>> newest;
+
+    public ItemRequestFeed(ItemRequestRepository repository, ItemRequestProperties properties,
+                           MeterRegistry meterRegistry) {
+        ItemRequestProperties.Feed feed = properties.getFeed();
+        this.repository = repository;
+        this.size = feed.getSize();
+        this.newest = Caffeine.newBuilder()
+                .expireAfterWrite(feed.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, newest, "requestFeed");
+    }
+
+    /**
+     * Returns the first page of requests of users other than the given one, or empty if the feed cannot serve it.
+     * The requests are copies, so that callers may change them freely.
+     */
+    public Optional<List<ItemRequestOutDto>> firstPageOf(Long userId, int pageSize) {
+        if (pageSize > size) {
+            return Optional.empty();
+        }
+        List<ItemRequestOutDto> requests = newest.get(NEWEST, key -> List.copyOf(repository.findNewest(size)));
+        List<ItemRequestOutDto> page = requests.stream()
+                .filter(request -> !request.getRequesterId().equals(userId))
+                .limit(pageSize)
+                .map(ItemRequestFeed::copyOf)
+                .collect(Collectors.toList());
+        // A feed shorter than its size holds every request, so a short page is then complete
+        if (page.size() < pageSize && requests.size() == size) {
+            return Optional.empty();
+        }
+        return Optional.of(page);
+    }
+
+    private static ItemRequestOutDto copyOf(ItemRequestOutDto request) {
+        return ItemRequestOutDto.builder()
+                .id(request.getId())
+                .description(request.getDescription())
+                .requester(request.getRequester())
+                .created(request.getCreated())
+                .items(request.getItems().stream().map(ItemRequestFeed::copyOf).collect(Collectors.toList()))
+                .requesterId(request.getRequesterId())
+                .build();
+    }
+
+    private static ItemForRequestDto copyOf(ItemForRequestDto item) {
+        return ItemForRequestDto.builder()
+                .id(item.getId())
+                .requestId(item.getRequestId())
+                .name(item.getName())
+                .ownerId(item.getOwnerId())
+                .description(item.getDescription())
+                .available(item.isAvailable())
+                .build();
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.request;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.request")
+public class ItemRequestProperties {
+
+    private final Feed feed = new Feed();
+
+    @Data
+    public static class Feed {
+
+        /**
+         * Number of newest requests kept for the first page of GET /requests/all.
+         */
+        private int size = 100;
+
+        /**
+         * How long the newest requests are served before they are read again, and so how late a new request or
+         * answer may appear on the first page.
+         */
+        private Duration ttl = Duration.ofSeconds(5);
+    }
+}
@@ -1,15 +1,8 @@
 package ru.practicum.shareit.request;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
-public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-
-    List<ItemRequest> findByRequesterId(Long requesterId);
-
-    List<ItemRequest> findByRequesterIdNot(Long requesterId, Pageable pageable);
+public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long>, ItemRequestRepositoryCustom {
 }
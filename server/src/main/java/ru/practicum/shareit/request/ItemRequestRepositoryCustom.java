@@ -0,0 +1,26 @@
+package ru.practicum.shareit.request;
+
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.request.dto.ItemRequestOutDto;
+
+import java.util.List;
+
+/**
+ * Pages of requests, newest first, each with the items answering it.
+ */
+public interface ItemRequestRepositoryCustom {
+
+    /**
+     * Returns the first page when {@code after} is null.
+     */
+    List<ItemRequestOutDto> findPageOfRequester(Long requesterId, KeysetCursor after, int size);
+
+    List<ItemRequestOutDto> findPageOfOthers(Long userId, int from, int size);
+
+    List<ItemRequestOutDto> findPageOfOthersAfter(Long userId, KeysetCursor after, int size);
+
+    /**
+     * Returns the newest requests of all users.
+     */
+    List<ItemRequestOutDto> findNewest(int size);
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.request;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.request.dto.ItemRequestOutDto;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class ItemRequestRepositoryImpl implements ItemRequestRepositoryCustom {
+
+    // The page is limited in a derived table so that the join with the answers is not paginated; the whole page
+    // with its answers is then one round trip. Requests of deleted users and deleted answers are left out.
+    private static final String PAGE_SQL = "SELECT r.id, r.description, r.created_date, r.requester_id, " +
+            "i.id AS item_id, i.name AS item_name, i.description AS item_description, i.user_id AS owner_id, " +
+            "i.is_available " +
+            "FROM (SELECT id, description, created_date, requester_id FROM requests " +
+            "WHERE %s AND requester_id NOT IN (SELECT id FROM users WHERE deleted) " +
+            "ORDER BY created_date DESC, id DESC LIMIT :size OFFSET :offset) r " +
+            "LEFT JOIN items i ON i.request_id = r.id AND NOT i.deleted " +
+            "ORDER BY r.created_date DESC, r.id DESC, i.id";
+    private static final String AFTER_CONDITION = " AND (created_date < :afterCreated " +
+            "OR (created_date = :afterCreated AND id < :afterId))";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<ItemRequestOutDto> findPageOfRequester(Long requesterId, KeysetCursor after, int size) {
+        return findPage("requester_id = :userId", requesterId, after, 0, size);
+    }
+
+    @Override
+    public List<ItemRequestOutDto> findPageOfOthers(Long userId, int from, int size) {
+        return findPage("requester_id <> :userId", userId, null, from, size);
+    }
+
+    @Override
+    public List<ItemRequestOutDto> findPageOfOthersAfter(Long userId, KeysetCursor after, int size) {
+        return findPage("requester_id <> :userId", userId, after, 0, size);
+    }
+
+    @Override
+    public List<ItemRequestOutDto> findNewest(int size) {
+        return findPage("TRUE", null, null, 0, size);
+    }
+
+    private List<ItemRequestOutDto> findPage(String condition, Long userId, KeysetCursor after, int from, int size) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("offset", from)
+                .addValue("size", size);
+        if (after != null) {
+            condition += AFTER_CONDITION;
+            parameters.addValue("afterCreated", after.getTimestamp()).addValue("afterId", after.getId());
+        }
+        Map<Long, ItemRequestOutDto> requests = new LinkedHashMap<>();
+        jdbcTemplate.query(String.format(PAGE_SQL, condition), parameters, rs -> {
+            long id = rs.getLong("id");
+            ItemRequestOutDto request = requests.get(id);
+            if (request == null) {
+                request = toRequest(rs, id);
+                requests.put(id, request);
+            }
+            long itemId = rs.getLong("item_id");
+            if (!rs.wasNull()) {
+                request.getItems().add(toItem(rs, itemId, request.getId()));
+            }
+        });
+        return new ArrayList<>(requests.values());
+    }
+
+    private static ItemRequestOutDto toRequest(ResultSet rs, Long id) throws SQLException {
+        return ItemRequestOutDto.builder()
+                .id(id)
+                .description(rs.getString("description"))
+                .created(rs.getTimestamp("created_date").toLocalDateTime())
+                .items(new ArrayList<>())
+                .requesterId(rs.getLong("requester_id"))
+                .build();
+    }
+
+    private static ItemForRequestDto toItem(ResultSet rs, Long itemId, Long requestId) throws SQLException {
+        return ItemForRequestDto.builder()
+                .id(itemId)
+                .requestId(requestId)
+                .name(rs.getString("item_name"))
+                .ownerId(rs.getLong("owner_id"))
+                .description(rs.getString("item_description"))
+                .available(rs.getBoolean("is_available"))
+                .build();
+    }
+}
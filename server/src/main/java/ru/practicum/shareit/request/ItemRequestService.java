@@ -10,10 +10,12 @@ public interface ItemRequestService {
 
     ItemRequestDto create(ItemRequestInDto itemRequestDto, Long userId);
 
-    List<ItemRequestOutDto> getUserRequestsWithAnswers(Long userId);
+    List<ItemRequestOutDto> getUserRequestsWithAnswers(Long userId, String after, int size);
 
     List<ItemRequestOutDto> getRequestsOfOthers(Long userId, int from, int size);
 
+    List<ItemRequestOutDto> getRequestsOfOthers(Long userId, String after, int size);
+
     ItemRequestOutDto getItemRequest(Long userId, Long requestId);
 
     ItemRequest findRequestById(Long itemRequestId);
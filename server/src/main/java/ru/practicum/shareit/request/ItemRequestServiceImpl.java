@@ -1,16 +1,13 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ItemRequestNotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemForRequestDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
-import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestInDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
@@ -20,11 +17,8 @@ import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserMapper;
 
 import java.time.LocalDateTime;
-import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -35,6 +29,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository repository;
     private final UserService userService;
     private final ItemRepository itemRepository;
+    private final ItemRequestFeed feed;
 
     @Override
     @Transactional
@@ -47,41 +42,32 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     @Override
-    public List<ItemRequestOutDto> getUserRequestsWithAnswers(Long userId) {
-        User user = UserMapper.toUser(userService.findUserById(userId));
-        Map<Long, ItemRequest> itemRequestMap = repository.findByRequesterId(userId).stream()
-                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
-
-        Map<Long, List<ItemForRequestDto>> itemsMap = getItemsByRequestIds(itemRequestMap.keySet());
-        return itemRequestMap.values()
-                .stream()
-                .map(itemRequest -> ItemRequestMapper
-                        .toItemRequestOutDtoWithAnswers(itemRequest, itemsMap.getOrDefault(itemRequest.getId(),
-                                Collections.emptyList())))
-                .collect(Collectors.toList());
+    public List<ItemRequestOutDto> getUserRequestsWithAnswers(Long userId, String after, int size) {
+        userService.assertUserExists(userId);
+        KeysetCursor cursor = after == null ? null : KeysetCursor.decode(after);
+        return repository.findPageOfRequester(userId, cursor, size);
     }
 
     @Override
     public List<ItemRequestOutDto> getRequestsOfOthers(Long userId, int from, int size) {
-        User user = UserMapper.toUser(userService.findUserById(userId));
-        Sort sort = Sort.by("created").descending();
-        Pageable pageRequest = PageRequest.of(from, size, sort);
-        Map<Long, ItemRequest> itemRequestMap = repository.findByRequesterIdNot(userId, pageRequest).stream()
-                .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
-        Map<Long, List<ItemForRequestDto>> itemsMap = getItemsByRequestIds(itemRequestMap.keySet());
-        return itemRequestMap.values()
-                .stream()
-                .map(itemRequest -> ItemRequestMapper
-                        .toItemRequestOutDtoWithAnswers(itemRequest, itemsMap.getOrDefault(itemRequest.getId(),
-                                Collections.emptyList())))
-                .collect(Collectors.toList());
+        userService.assertUserExists(userId);
+        if (from == 0) {
+            return feed.firstPageOf(userId, size).orElseGet(() -> repository.findPageOfOthers(userId, 0, size));
+        }
+        return repository.findPageOfOthers(userId, from * size, size);
+    }
+
+    @Override
+    public List<ItemRequestOutDto> getRequestsOfOthers(Long userId, String after, int size) {
+        userService.assertUserExists(userId);
+        return repository.findPageOfOthersAfter(userId, KeysetCursor.decode(after), size);
     }
 
     @Override
     public ItemRequestOutDto getItemRequest(Long userId, Long requestId) {
-        User user = UserMapper.toUser(userService.findUserById(userId));
+        userService.assertUserExists(userId);
         ItemRequest itemRequest = findRequestById(requestId);
-        List<ItemForRequestDto> items = itemRepository.getByRequestIdIn(Collections.singleton(requestId))
+        List<ItemForRequestDto> items = itemRepository.getByRequestIdInAndDeletedFalse(Collections.singleton(requestId))
                 .stream()
                 .map(ItemMapper::toItemForRequestDto)
                 .collect(Collectors.toList());
@@ -92,11 +78,4 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     public ItemRequest findRequestById(Long itemRequestId) {
         return repository.findById(itemRequestId).orElseThrow(() -> new ItemRequestNotFoundException("Item was not found"));
     }
-
-    private Map<Long, List<ItemForRequestDto>> getItemsByRequestIds(Collection<Long> requestIds) {
-        List<Item> items = itemRepository.getByRequestIdIn(requestIds);
-        return items.stream()
-                .map(ItemMapper::toItemForRequestDto)
-                .collect(Collectors.groupingBy(ItemForRequestDto::getRequestId));
-    }
 }
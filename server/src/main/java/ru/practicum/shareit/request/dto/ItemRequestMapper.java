@@ -24,6 +24,7 @@ public class ItemRequestMapper {
                 .description(itemRequest.getDescription())
                 .created(itemRequest.getCreated())
                 .items(items)
+                .requesterId(itemRequest.getRequester().getId())
                 .build();
     }
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -19,4 +20,6 @@ public class ItemRequestOutDto {
     private User requester;
     private LocalDateTime created;
     private List<ItemForRequestDto> items;
+    @JsonIgnore
+    private Long requesterId;
 }
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Users by id, so that the user lookup most operations start with rarely reaches the database. Ids found missing
+ * are remembered for a short while in a second cache. {@link UserServiceImpl} invalidates an id when the user is
+ * created, updated or deleted: at once and again when the transaction completes, as a lookup in between may have
+ * cached a state that is no longer or not yet committed. Statistics are published as the users and missingUsers
+ * cache metrics.
+ */
+@Component
+public class UserCache {
+
+    private final Cache<Long, UserDto> users;
+    private final Cache<Long, Boolean> missing;
+
+    public UserCache(UserProperties properties, MeterRegistry meterRegistry) {
+        UserProperties.Cache cache = properties.getCache();
+        this.users = Caffeine.newBuilder()
+                .maximumSize(cache.getMaximumSize())
+                .recordStats()
+                .build();
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(cache.getMissingMaximumSize())
+                .expireAfterWrite(cache.getMissingTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "users");
+        CaffeineCacheMetrics.monitor(meterRegistry, missing, "missingUsers");
+    }
+
+    /**
+     * Returns a copy, so that callers may change it freely.
+     */
+    public Optional<UserDto> get(Long id, Function<Long, Optional<UserDto>> loader) {
+        if (missing.getIfPresent(id) != null) {
+            return Optional.empty();
+        }
+        UserDto user = users.get(id, key -> loader.apply(key).orElse(null));
+        if (user == null) {
+            missing.put(id, Boolean.TRUE);
+            return Optional.empty();
+        }
+        return Optional.of(copyOf(user));
+    }
+
+    public void invalidate(Long id) {
+        users.invalidate(id);
+        missing.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    users.invalidate(id);
+                    missing.invalidate(id);
+                }
+            });
+        }
+    }
+
+    private static UserDto copyOf(UserDto user) {
+        return UserDto.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .build();
+    }
+}
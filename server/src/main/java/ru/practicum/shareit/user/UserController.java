@@ -1,9 +1,12 @@
 package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 
@@ -11,6 +14,9 @@ import java.util.List;
 @RequestMapping(path = "/users")
 public class UserController {
 
+    static final String NEXT_AFTER_ID_HEADER = "X-Next-After-Id";
+    private static final String NDJSON = "application/x-ndjson";
+
     private final UserService userService;
 
     @Autowired
@@ -19,8 +25,22 @@ public class UserController {
     }
 
     @GetMapping
-    public List<UserDto> getAllUsers() {
-        return userService.getAllUsers();
+    public ResponseEntity<List<UserDto>> getUsers(@RequestParam(defaultValue = "0") Long afterId,
+                                                  @RequestParam(defaultValue = "10") int size) {
+        List<UserDto> users = userService.getUsers(afterId, size);
+        if (users.isEmpty() || users.size() < size) {
+            return ResponseEntity.ok(users);
+        }
+        return ResponseEntity.ok()
+                .header(NEXT_AFTER_ID_HEADER, String.valueOf(users.get(users.size() - 1).getId()))
+                .body(users);
+    }
+
+    @GetMapping(value = "/export")
+    public void exportUsers(@RequestParam(defaultValue = "0") Long afterId,
+                            HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        userService.exportUsers(afterId, response.getOutputStream());
     }
 
     @PostMapping
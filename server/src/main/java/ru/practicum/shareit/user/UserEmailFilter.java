@@ -0,0 +1,129 @@
+package ru.practicum.shareit.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over the lower-cased emails of all users. A miss proves that an email is free; a hit still has to be
+ * confirmed by the database. Deleted users stay in the filter until the next rebuild, which only costs an extra
+ * query. Until the filter is loaded, and when it is disabled, every email is reported as possibly taken.
+ */
+@Slf4j
+@Component
+public class UserEmailFilter {
+
+    private static final String LOAD_SQL = "SELECT email FROM users";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final UserProperties.EmailFilter properties;
+    private volatile BloomFilter filter;
+
+    public UserEmailFilter(JdbcTemplate jdbcTemplate, UserProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties.getEmailFilter();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+        // Emails added while loading may be missed; the unique constraint still rejects them
+        BloomFilter loaded = new BloomFilter(Math.max(properties.getExpectedEmails(), 2 * count),
+                properties.getFalsePositiveRate());
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            loaded.add(rs.getString("email"));
+        });
+        filter = loaded;
+        log.info("User email filter loaded: {} emails, {} bits", loaded.count.get(), loaded.bitCount);
+    }
+
+    public boolean mightContain(String email) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(email);
+    }
+
+    public void add(String email) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(email);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.user.email-filter.check-delay-ms:60000}")
+    public void rebuildIfFull() {
+        BloomFilter current = filter;
+        if (current != null && current.count.get() > current.capacity) {
+            load();
+        }
+    }
+
+    static final class BloomFilter {
+
+        private final int capacity;
+        private final int bitCount;
+        private final int hashCount;
+        private final AtomicLongArray bits;
+        private final AtomicInteger count = new AtomicInteger();
+
+        BloomFilter(int capacity, double falsePositiveRate) {
+            this.capacity = capacity;
+            double ln2 = Math.log(2);
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+            this.bitCount = (int) Math.min(Math.max(optimalBits, 64), Integer.MAX_VALUE - 63);
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+            this.bits = new AtomicLongArray((bitCount + 63) / 64);
+        }
+
+        void add(String email) {
+            long hash = hash(email);
+            for (int i = 0; i < hashCount; i++) {
+                int bit = bit(hash, i);
+                long mask = 1L << bit;
+                bits.getAndUpdate(bit >>> 6, word -> word | mask);
+            }
+            count.incrementAndGet();
+        }
+
+        boolean mightContain(String email) {
+            long hash = hash(email);
+            for (int i = 0; i < hashCount; i++) {
+                int bit = bit(hash, i);
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Double hashing (Kirsch-Mitzenmacher): the i-th probe is h1 + i * h2
+        private int bit(long hash, int i) {
+            int combined = (int) hash + i * (int) (hash >>> 32);
+            return Math.floorMod(combined, bitCount);
+        }
+
+        // 64-bit FNV-1a over the lower-cased email, finished with the MurmurHash3 mixer
+        private static long hash(String email) {
+            String key = email.toLowerCase();
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < key.length(); i++) {
+                hash ^= key.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit.user;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "shareit.user")
+public class UserProperties {
+
+    private final EmailFilter emailFilter = new EmailFilter();
+
+    private final Cache cache = new Cache();
+
+    @Data
+    public static class EmailFilter {
+
+        /**
+         * Whether emails that are certainly free skip the database check.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of emails the filter is sized for; it is rebuilt larger once more have been added.
+         */
+        private int expectedEmails = 100_000;
+
+        /**
+         * Share of free emails still checked in the database.
+         */
+        private double falsePositiveRate = 0.01;
+    }
+
+    @Data
+    public static class Cache {
+
+        /**
+         * Number of users kept by id.
+         */
+        private long maximumSize = 10_000;
+
+        /**
+         * Number of unknown ids remembered, each for missingTtl.
+         */
+        private long missingMaximumSize = 10_000;
+
+        private Duration missingTtl = Duration.ofMinutes(1);
+    }
+}
@@ -1,8 +1,29 @@
 package ru.practicum.shareit.user;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    // lower() rather than the derived upper() so that PostgreSQL can use uq_users_email_lower
+    @Query("select count(u) > 0 from User u where lower(u.email) = lower(:email)")
+    boolean existsByEmailIgnoreCase(@Param("email") String email);
+
+    // The deleted flag is not mapped, as only these queries, markDeleted and PurgeWorker look at it
+    @Query(value = "SELECT * FROM users WHERE id = :id AND NOT deleted", nativeQuery = true)
+    Optional<User> findActiveById(@Param("id") Long id);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(value = "SELECT * FROM users WHERE id > :afterId AND NOT deleted ORDER BY id", nativeQuery = true)
+    Stream<User> streamByIdAfter(@Param("afterId") Long afterId, Pageable pageable);
+
 }
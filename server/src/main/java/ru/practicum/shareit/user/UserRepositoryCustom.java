@@ -0,0 +1,19 @@
+package ru.practicum.shareit.user;
+
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Returns the number of users marked, zero if the user does not exist or was already deleted.
+     */
+    int markDeleted(Long id);
+
+    /**
+     * Marks the items of the owner deleted and unavailable, so that they can no longer be found or booked while
+     * the owner waits to be purged. Returns the items marked, as they were before.
+     */
+    List<ItemDto> markItemsDeleted(Long ownerId);
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    private static final String MARK_DELETED_SQL = "UPDATE users SET deleted = TRUE WHERE id = ? AND NOT deleted";
+    private static final String ITEMS_TO_MARK_DELETED_SQL = "SELECT id, name, description, is_available, " +
+            "request_id FROM items WHERE user_id = ? AND NOT deleted";
+    private static final String MARK_ITEMS_DELETED_SQL = "UPDATE items SET deleted = TRUE, is_available = FALSE " +
+            "WHERE user_id = ? AND NOT deleted";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int markDeleted(Long id) {
+        return jdbcTemplate.update(MARK_DELETED_SQL, id);
+    }
+
+    @Override
+    public List<ItemDto> markItemsDeleted(Long ownerId) {
+        List<ItemDto> items = jdbcTemplate.query(ITEMS_TO_MARK_DELETED_SQL, (rs, rowNum) -> ItemDto.builder()
+                .id(rs.getLong("id"))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .available(rs.getBoolean("is_available"))
+                .requestId(rs.getObject("request_id", Long.class))
+                .build(), ownerId);
+        jdbcTemplate.update(MARK_ITEMS_DELETED_SQL, ownerId);
+        return items;
+    }
+}
@@ -2,11 +2,21 @@ package ru.practicum.shareit.user;
 
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface UserService {
 
-    List<UserDto> getAllUsers();
+    /**
+     * Returns up to size users with an id greater than afterId, ordered by id.
+     */
+    List<UserDto> getUsers(Long afterId, int size);
+
+    /**
+     * Writes every user with an id greater than afterId as one JSON object per line, ordered by id.
+     */
+    void exportUsers(Long afterId, OutputStream out) throws IOException;
 
     UserDto create(UserDto userDto);
 
@@ -14,5 +24,14 @@ public interface UserService {
 
     UserDto findUserById(Long id);
 
+    /**
+     * Throws UserNotFoundException for an unknown id, usually without querying the database.
+     */
+    void assertUserExists(Long id);
+
+    /**
+     * Marks the user deleted. The user is no longer found from then on; the purge worker removes the user with
+     * their items, bookings, comments and requests later.
+     */
     void delete(Long id);
 }
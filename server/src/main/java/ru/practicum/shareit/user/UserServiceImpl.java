@@ -1,33 +1,90 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.EmailConflictException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.UserValidationException;
+import ru.practicum.shareit.item.ItemsDeletedEvent;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.util.Iterator;
 import java.util.List;
-import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
 @Transactional(readOnly = true)
 public class UserServiceImpl implements UserService {
 
+    private static final String UNIQUE_VIOLATION = "23505";
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final UserRepository repository;
+    private final UserEmailFilter emailFilter;
+    private final UserCache userCache;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public UserServiceImpl(UserRepository repository) {
+    public UserServiceImpl(UserRepository repository, UserEmailFilter emailFilter, UserCache userCache,
+                           ObjectMapper objectMapper, ApplicationEventPublisher eventPublisher) {
         this.repository = repository;
+        this.emailFilter = emailFilter;
+        this.userCache = userCache;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
-    public List<UserDto> getAllUsers() {
-        return UserMapper.mapToUserDto(repository.findAll());
+    public List<UserDto> getUsers(Long afterId, int size) {
+        try (Stream<User> users = repository.streamByIdAfter(afterId, PageRequest.of(0, size))) {
+            return users.map(UserMapper::toUserDto).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Users are streamed from the database and the persistence context is cleared as they go, so memory use does
+     * not depend on the number of users.
+     */
+    @Override
+    public void exportUsers(Long afterId, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        try (Stream<User> users = repository.streamByIdAfter(afterId, Pageable.unpaged())) {
+            Iterator<User> iterator = users.iterator();
+            int written = 0;
+            while (iterator.hasNext()) {
+                objectMapper.writeValue(generator, UserMapper.toUserDto(iterator.next()));
+                if (++written % EXPORT_CHUNK_SIZE == 0) {
+                    entityManager.clear();
+                    generator.flush();
+                }
+            }
+        }
+        generator.writeRaw('\n');
+        generator.close();
     }
 
     @Override
@@ -36,8 +93,8 @@ public class UserServiceImpl implements UserService {
         if (userDto.getEmail() == null) {
             throw new UserValidationException("Email must not be null");
         }
-        User user = repository.save(UserMapper.toUser(userDto));
-        return UserMapper.toUserDto(user);
+        checkEmailIsFree(userDto.getEmail());
+        return UserMapper.toUserDto(saveChecked(UserMapper.toUser(userDto)));
     }
 
     @Override
@@ -45,8 +102,10 @@ public class UserServiceImpl implements UserService {
     public UserDto update(UserDto userDto, Long id) {
         User oldUser = UserMapper.toUser(findUserById(id));
         boolean updated = false;
-        if (userDto.getEmail() != null && doesEmailNotExist(userDto.getEmail())
-                || Objects.equals(userDto.getEmail(), oldUser.getEmail())) {
+        if (userDto.getEmail() != null) {
+            if (!userDto.getEmail().equalsIgnoreCase(oldUser.getEmail())) {
+                checkEmailIsFree(userDto.getEmail());
+            }
             oldUser.setEmail(userDto.getEmail());
             updated = true;
         }
@@ -55,7 +114,7 @@ public class UserServiceImpl implements UserService {
             updated = true;
         }
         if (updated) {
-            return UserMapper.toUserDto(repository.save(oldUser));
+            return UserMapper.toUserDto(saveChecked(oldUser));
         }
         log.warn("update of user with id {} failed", id);
         throw new EmailConflictException("Unable to update user with given email");
@@ -63,20 +122,51 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public UserDto findUserById(Long id) {
-        return UserMapper.toUserDto(repository.findById(id)
-                .orElseThrow(() -> new UserNotFoundException("User was not found")));
+        return userCache.get(id, key -> repository.findActiveById(key).map(UserMapper::toUserDto))
+                .orElseThrow(() -> new UserNotFoundException("User was not found"));
+    }
+
+    @Override
+    public void assertUserExists(Long id) {
+        findUserById(id);
     }
 
     @Override
     @Transactional
     public void delete(Long id) {
-        if (!repository.existsById(id)) {
+        if (repository.markDeleted(id) == 0) {
             throw new UserNotFoundException("User to delete was not found");
         }
-        repository.deleteById(id);
+        List<ItemDto> items = repository.markItemsDeleted(id);
+        userCache.invalidate(id);
+        if (!items.isEmpty()) {
+            eventPublisher.publishEvent(new ItemsDeletedEvent(id, items));
+        }
     }
 
-    private boolean doesEmailNotExist(String email) {
-        return !repository.findAll().stream().anyMatch(user -> user.getEmail().equals(email));
+    private void checkEmailIsFree(String email) {
+        if (emailFilter.mightContain(email) && repository.existsByEmailIgnoreCase(email)) {
+            throw new EmailConflictException("Email " + email + " is already taken");
+        }
+    }
+
+    /**
+     * Flushes so that a concurrent taker of the same email, caught only by the unique constraint, is reported as
+     * a conflict.
+     */
+    private User saveChecked(User user) {
+        User saved;
+        try {
+            saved = repository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            Throwable cause = NestedExceptionUtils.getMostSpecificCause(e);
+            if (cause instanceof SQLException && UNIQUE_VIOLATION.equals(((SQLException) cause).getSQLState())) {
+                throw new EmailConflictException("Email " + user.getEmail() + " is already taken");
+            }
+            throw e;
+        }
+        emailFilter.add(saved.getEmail());
+        userCache.invalidate(saved.getId());
+        return saved;
     }
 }
@@ -0,0 +1,60 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS period tsrange
+    GENERATED ALWAYS AS (tsrange(start_date, end_date, '[)')) STORED;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (setweight(to_tsvector('simple', coalesce(name, '')), 'A')
+        || setweight(to_tsvector('simple', coalesce(description, '')), 'B')) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_items_search_vector ON items USING gin (search_vector);
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING gin (name gin_trgm_ops);
+
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING gin (description gin_trgm_ops);
+
+-- Emails are unique regardless of case; UserRepository.existsByEmailIgnoreCase looks them up through this index
+CREATE UNIQUE INDEX IF NOT EXISTS uq_users_email_lower ON users (lower(email));
+
+-- Deleted users and items stay until PurgeWorker gets to them; it finds them through these indexes
+ALTER TABLE users ADD COLUMN IF NOT EXISTS deleted boolean NOT NULL DEFAULT FALSE;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS deleted boolean NOT NULL DEFAULT FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_users_deleted ON users (id) WHERE deleted;
+
+CREATE INDEX IF NOT EXISTS idx_items_deleted ON items (id) WHERE deleted;
+
+-- Staged rows live only for the transaction of their import, so they need no WAL
+ALTER TABLE item_import_rows SET UNLOGGED;
+
+-- Tables created before ids moved to pooled sequences still have identity columns; the sequences continue
+-- after their rows and never move back, as restarts may find a sequence already ahead. The next value of a
+-- sequence is read without calling nextval, which would skip a block of 50 ids on every start
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM users),
+    (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM users_seq)), false);
+
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('requests_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM requests),
+    (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM requests_seq)), false);
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('items_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM items),
+    (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM items_seq)), false);
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('bookings_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM bookings),
+    (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM bookings_seq)), false);
+
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('comments_seq', GREATEST((SELECT COALESCE(MAX(id), 0) + 1 FROM comments),
+    (SELECT CASE WHEN is_called THEN last_value + 50 ELSE last_value END FROM comments_seq)), false);
@@ -1,29 +1,40 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 50;
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 50;
 
     CREATE TABLE IF NOT EXISTS users (
-    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     name varchar(100) NOT NULL,
     email varchar(100) NOT NULL,
+    deleted boolean NOT NULL DEFAULT FALSE,
     CONSTRAINT uq_user_email UNIQUE (email));
 
     CREATE TABLE IF NOT EXISTS requests (
-    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     description varchar(2000) NOT NULL,
     requester_id BIGINT NOT NULL,
     created_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     CONSTRAINT fk_requests_to_users FOREIGN KEY(requester_id) REFERENCES users(id));
 
     CREATE TABLE IF NOT EXISTS items (
-    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     name varchar(200) NOT NULL,
     description varchar(2000) NOT NULL,
     is_available boolean NOT NULL,
     user_id BIGINT NOT NULL,
     request_id BIGINT,
+    deleted boolean NOT NULL DEFAULT FALSE,
     CONSTRAINT fk_items_to_requests FOREIGN KEY(request_id) REFERENCES requests(id),
     CONSTRAINT fk_items_to_users FOREIGN KEY(user_id) REFERENCES users(id));
 
 CREATE TABLE IF NOT EXISTS bookings (
-    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     item_id BIGINT NOT NULL,
@@ -33,10 +44,54 @@ CREATE TABLE IF NOT EXISTS bookings (
      CONSTRAINT fk_bookings_to_items FOREIGN KEY(item_id) REFERENCES items(id));
 
     CREATE TABLE IF NOT EXISTS comments (
-    id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY,
+    id BIGINT PRIMARY KEY,
     text varchar(2000) NOT NULL,
     author_id BIGINT NOT NULL,
     item_id BIGINT NOT NULL,
     created_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     CONSTRAINT fk_comments_to_users FOREIGN KEY(author_id) REFERENCES users(id),
-    CONSTRAINT fk_comments_to_items FOREIGN KEY(item_id) REFERENCES items(id));
\ No newline at end of file
+    CONSTRAINT fk_comments_to_items FOREIGN KEY(item_id) REFERENCES items(id));
+
+CREATE TABLE IF NOT EXISTS item_booking_pointers (
+    item_id BIGINT PRIMARY KEY,
+    last_booking_id BIGINT,
+    last_booker_id BIGINT,
+    last_start TIMESTAMP WITHOUT TIME ZONE,
+    last_end TIMESTAMP WITHOUT TIME ZONE,
+    next_booking_id BIGINT,
+    next_booker_id BIGINT,
+    next_start TIMESTAMP WITHOUT TIME ZONE,
+    next_end TIMESTAMP WITHOUT TIME ZONE,
+    CONSTRAINT fk_item_booking_pointers_to_items FOREIGN KEY(item_id) REFERENCES items(id) ON DELETE CASCADE);
+
+CREATE TABLE IF NOT EXISTS item_import_rows (
+    job_id varchar(36) NOT NULL,
+    row_number INT NOT NULL,
+    item_id BIGINT NOT NULL,
+    name varchar(200) NOT NULL,
+    description varchar(2000) NOT NULL,
+    is_available boolean NOT NULL,
+    request_id BIGINT,
+    CONSTRAINT pk_item_import_rows PRIMARY KEY (job_id, row_number));
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (user_id);
+
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester_id, created_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_author ON comments (author_id);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_item_booking_pointers_next_start ON item_booking_pointers (next_start);
@@ -8,9 +8,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
@@ -19,6 +22,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BookingController.class)
@@ -125,6 +129,45 @@ public class BookingControllerTest {
         assertEquals(objectMapper.writeValueAsString(bookings), result);
     }
 
+    @SneakyThrows
+    @Test
+    void findBookingsOfUserWhenAfterIsGivenThenUseCursorAndReturnNextCursor() {
+        long userId = 1L;
+        String after = new KeysetCursor(LocalDateTime.now().plusDays(5), 7L).encode();
+        List<BookingOutDto> bookings = List.of(bookingOutDto);
+        when(bookingService.findBookingsOfUser(BookingState.ALL, userId, after, 1))
+                .thenReturn(bookings);
+
+        String nextCursor = mvc.perform(get("/bookings")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("size", String.valueOf(1))
+                        .param("after", after))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(KeysetCursor.NEXT_CURSOR_HEADER);
+
+        verify(bookingService).findBookingsOfUser(BookingState.ALL, userId, after, 1);
+        assertEquals(new KeysetCursor(bookingOutDto.getStart(), bookingOutDto.getId()), KeysetCursor.decode(nextCursor));
+    }
+
+    @SneakyThrows
+    @Test
+    void findBookingsOfOwnerWhenPageIsNotFullThenNoNextCursor() {
+        long userId = 1L;
+        String after = new KeysetCursor(LocalDateTime.now().plusDays(5), 7L).encode();
+        when(bookingService.findBookingsOfOwner(BookingState.ALL, userId, after, 10))
+                .thenReturn(List.of(bookingOutDto));
+
+        mvc.perform(get("/bookings/owner")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("after", after))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(KeysetCursor.NEXT_CURSOR_HEADER));
+
+        verify(bookingService).findBookingsOfOwner(BookingState.ALL, userId, after, 10);
+    }
+
     @SneakyThrows
     @Test
     void findBookingByIdWhenInvokeThenReturnBookingDtoFullOut() {
@@ -191,4 +234,45 @@ public class BookingControllerTest {
 
         assertEquals(objectMapper.writeValueAsString(bookingOutDto), result);
     }
+
+    @SneakyThrows
+    @Test
+    void createAllThenStatusOkAndReturnResultPerEntry() {
+        long userId = 2L;
+        List<BookingDto> bookingDtos = List.of(bookingDto, bookingDto);
+        List<BookingBatchResultDto> results = List.of(new BookingBatchResultDto(0, bookingOutDto, null),
+                new BookingBatchResultDto(1, null, "Item is already booked for the requested period"));
+        when(bookingService.createAll(bookingDtos, userId)).thenReturn(results);
+
+        String result = mvc.perform(post("/bookings/batch")
+                        .header("X-Sharer-User-Id", userId)
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(bookingDtos)))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(results), result);
+    }
+
+    @SneakyThrows
+    @Test
+    void setBookingsApprovalThenStatusOkAndDefaultKeepsOverlappingBookings() {
+        long userId = 1L;
+        BookingApprovalResultDto approval = new BookingApprovalResultDto(2, List.of());
+        when(bookingService.setBookingsApproval(userId, true, List.of(1L, 2L), false)).thenReturn(approval);
+
+        String result = mvc.perform(patch("/bookings/batch")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("approved", "true")
+                        .contentType("application/json")
+                        .content(objectMapper.writeValueAsString(List.of(1L, 2L))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(approval), result);
+    }
 }
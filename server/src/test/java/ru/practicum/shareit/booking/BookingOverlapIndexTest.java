@@ -0,0 +1,119 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingOverlapIndexTest {
+
+    @Mock
+    private BookingRepository repository;
+    @InjectMocks
+    private BookingOverlapIndex index;
+
+    private Item item;
+    private User booker;
+    private LocalDateTime base;
+
+    @BeforeEach
+    public void initialize() {
+        booker = new User(2L, "user", "user@mail.ru");
+        item = new Item(1L, "item", "description", true, new User(1L, "owner", "owner@mail.ru"), null);
+        base = LocalDateTime.now().plusDays(1);
+    }
+
+    @Test
+    void hasConflictWhenPeriodIntersectsStoredBooking() {
+        when(repository.findByItemIdAndStatusInAndEndAfter(eq(1L), any(), any()))
+                .thenReturn(List.of(booking(1L, base, base.plusDays(2))));
+
+        assertTrue(index.hasConflict(1L, base.plusDays(1), base.plusDays(3)));
+        assertTrue(index.hasConflict(1L, base.minusDays(1), base.plusHours(1)));
+        assertTrue(index.hasConflict(1L, base.plusHours(1), base.plusHours(2)));
+    }
+
+    @Test
+    void hasNoConflictWhenPeriodTouchesStoredBooking() {
+        when(repository.findByItemIdAndStatusInAndEndAfter(eq(1L), any(), any()))
+                .thenReturn(List.of(booking(1L, base, base.plusDays(2))));
+
+        assertFalse(index.hasConflict(1L, base.minusDays(1), base));
+        assertFalse(index.hasConflict(1L, base.plusDays(2), base.plusDays(3)));
+    }
+
+    @Test
+    void hasConflictWhenLongEarlierBookingCoversPeriod() {
+        when(repository.findByItemIdAndStatusInAndEndAfter(eq(1L), any(), any()))
+                .thenReturn(List.of(booking(1L, base, base.plusDays(10)),
+                        booking(2L, base.plusDays(1), base.plusDays(2))));
+
+        assertTrue(index.hasConflict(1L, base.plusDays(5), base.plusDays(6)));
+    }
+
+    @Test
+    void addedAndRemovedBookingsAreReflectedWithoutReloading() {
+        when(repository.findByItemIdAndStatusInAndEndAfter(eq(1L), any(), any())).thenReturn(List.of());
+        Booking booking = booking(1L, base, base.plusDays(1));
+
+        assertFalse(index.hasConflict(1L, base, base.plusDays(1)));
+        index.add(booking);
+        assertTrue(index.hasConflict(1L, base, base.plusDays(1)));
+        index.remove(booking);
+        assertFalse(index.hasConflict(1L, base, base.plusDays(1)));
+
+        verify(repository, times(1)).findByItemIdAndStatusInAndEndAfter(eq(1L), any(), any());
+    }
+
+    @Test
+    void bookingAddedWhileItemIsLoadingIsNotLost() throws InterruptedException {
+        Booking added = booking(2L, base, base.plusDays(1));
+        Thread adder = new Thread(() -> index.add(added));
+        when(repository.findByItemIdAndStatusInAndEndAfter(eq(1L), any(), any())).thenAnswer(invocation -> {
+            // The booking commits after the load has read the bookings but before the load is installed
+            adder.start();
+            while (adder.getState() != Thread.State.BLOCKED && adder.isAlive()) {
+                Thread.onSpinWait();
+            }
+            return List.of();
+        });
+
+        assertFalse(index.hasConflict(1L, base.plusDays(3), base.plusDays(4)));
+        adder.join();
+
+        assertTrue(index.hasConflict(1L, base, base.plusDays(1)));
+    }
+
+    @Test
+    void removedLongBookingNoLongerCoversPeriod() {
+        Booking longBooking = booking(1L, base, base.plusDays(30));
+        when(repository.findByItemIdAndStatusInAndEndAfter(eq(1L), any(), any()))
+                .thenReturn(List.of(longBooking, booking(2L, base.plusDays(1), base.plusDays(2))));
+
+        assertTrue(index.hasConflict(1L, base.plusDays(5), base.plusDays(6)));
+        index.remove(longBooking);
+
+        assertFalse(index.hasConflict(1L, base.plusDays(5), base.plusDays(6)));
+        assertTrue(index.hasConflict(1L, base.plusDays(1), base.plusDays(3)));
+    }
+
+    private Booking booking(Long id, LocalDateTime start, LocalDateTime end) {
+        return new Booking(id, start, end, item, booker, BookingStatus.WAITING);
+    }
+}
@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import ru.practicum.shareit.pagination.KeysetCursor;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+class BookingQueryTest {
+
+    @Autowired
+    private DataSource dataSource;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void initialize() {
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingState.class, names = "UNSUPPORTED_STATUS", mode = EnumSource.Mode.EXCLUDE)
+    void bookerListingUsesIndexOnBookings(BookingState state) {
+        String plan = explain(new BookingQuery(BookingRole.BOOKER, 1L, state, LocalDateTime.now()));
+
+        assertTrue(plan.contains(": BOOKER_ID = ?1"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingState.class, names = "UNSUPPORTED_STATUS", mode = EnumSource.Mode.EXCLUDE)
+    void ownerListingUsesIndexesOnItemsAndBookings(BookingState state) {
+        String plan = explain(new BookingQuery(BookingRole.OWNER, 1L, state, LocalDateTime.now()));
+
+        assertTrue(plan.contains(": USER_ID = ?1"), plan);
+        assertTrue(plan.contains(": ITEM_ID = I.ID"), plan);
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = BookingRole.class)
+    void cursorPageUsesIndexOnBookings(BookingRole role) {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.now(), 10L);
+        String plan = explain(new BookingQuery(role, 1L, BookingState.ALL, LocalDateTime.now()).after(cursor));
+
+        assertFalse(plan.contains("tableScan"), plan);
+    }
+
+    private String explain(BookingQuery query) {
+        // H2 prints the chosen access path of every table as a comment, e.g. /* PUBLIC.BOOKINGS.tableScan */
+        List<String> rows = jdbcTemplate.queryForList("EXPLAIN " + query.sql(), query.parameters(), String.class);
+        return String.join("\n", rows);
+    }
+}
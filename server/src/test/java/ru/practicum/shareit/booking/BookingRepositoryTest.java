@@ -4,16 +4,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -27,14 +28,13 @@ public class BookingRepositoryTest {
     private UserRepository userRepository;
     @Autowired
     private ItemRepository itemRepository;
-    private final Pageable pageRequest = PageRequest.of(0, 10);
     private LocalDateTime start;
     private LocalDateTime end;
 
     @BeforeEach
     public void createBookings() {
-        start = LocalDateTime.now().plusHours(1);
-        end = LocalDateTime.now().plusDays(1);
+        start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusHours(1);
+        end = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(1);
         User owner = new User(1L, "owner", "owner@mail.ru");
         User user = new User(2L, "user", "user@mail.ru");
         Item item = new Item(1L, "item", "description", true, owner, null);
@@ -47,75 +47,94 @@ public class BookingRepositoryTest {
     }
 
     @Test
-    void findAllByBookerIdAndStatusTest() {
-        List<Booking> bookings = repository.findAllByBookerIdAndStatus(2L, BookingStatus.WAITING, pageRequest);
+    void findPageOfBookerByStatusTest() {
+        List<Booking> bookings = repository.findPage(BookingRole.BOOKER, 2L, BookingState.WAITING,
+                LocalDateTime.now(), 0, 10);
 
         assertEquals(1, bookings.size());
     }
 
     @Test
-    void findAllByBookerIdTest() {
-        List<Booking> bookings = repository.findAllByBookerId(2L, pageRequest);
+    void findPageOfBookerTest() {
+        List<Booking> bookings = repository.findPage(BookingRole.BOOKER, 2L, BookingState.ALL,
+                LocalDateTime.now(), 0, 10);
 
         assertEquals(1, bookings.size());
     }
 
     @Test
-    void findAllByBookerIdAndEndBeforeTest() {
-        List<Booking> bookings = repository.findAllByBookerIdAndEndBefore(2L, end.plusDays(1), pageRequest);
+    void findPageOfBookerInPastTest() {
+        List<Booking> bookings = repository.findPage(BookingRole.BOOKER, 2L, BookingState.PAST,
+                end.plusDays(1), 0, 10);
 
         assertEquals(1, bookings.size());
     }
 
     @Test
-    void findAllByBookerIdAndStartAfterTest() {
-        List<Booking> bookings = repository.findAllByBookerIdAndStartAfter(2L, start.minusDays(1), pageRequest);
+    void findPageOfBookerInFutureTest() {
+        List<Booking> bookings = repository.findPage(BookingRole.BOOKER, 2L, BookingState.FUTURE,
+                start.minusDays(1), 0, 10);
 
         assertEquals(1, bookings.size());
     }
 
     @Test
-    void findByBookerIdAndStartBeforeAndEndAfterTest() {
-        List<Booking> bookings = repository.findByBookerIdAndStartBeforeAndEndAfter(2L, start.plusHours(1),
-                end.minusHours(1), pageRequest);
+    void findPageOfBookerCurrentTest() {
+        List<Booking> bookings = repository.findPage(BookingRole.BOOKER, 2L, BookingState.CURRENT,
+                start.plusHours(1), 0, 10);
 
         assertEquals(1, bookings.size());
     }
 
     @Test
-    void findByItemOwnerIdTest() {
-        List<Booking> bookings = repository.findByItemOwnerId(1L, pageRequest);
+    void findPageOfOwnerTest() {
+        List<Booking> bookings = repository.findPage(BookingRole.OWNER, 1L, BookingState.ALL,
+                LocalDateTime.now(), 0, 10);
 
         assertEquals(1, bookings.size());
     }
 
     @Test
-    void findByItemOwnerIdAndStatusTest() {
-        List<Booking> bookings = repository.findByItemOwnerIdAndStatus(1L, BookingStatus.WAITING, pageRequest);
+    void findPageOfOwnerByStatusTest() {
+        List<Booking> waiting = repository.findPage(BookingRole.OWNER, 1L, BookingState.WAITING,
+                LocalDateTime.now(), 0, 10);
+        List<Booking> rejected = repository.findPage(BookingRole.OWNER, 1L, BookingState.REJECTED,
+                LocalDateTime.now(), 0, 10);
+
+        assertEquals(1, waiting.size());
+        assertEquals(0, rejected.size());
+    }
+
+    @Test
+    void findPageOfOwnerInPastTest() {
+        List<Booking> bookings = repository.findPage(BookingRole.OWNER, 1L, BookingState.PAST,
+                end.plusDays(1), 0, 10);
 
         assertEquals(1, bookings.size());
     }
 
     @Test
-    void findByItemOwnerIdAndEndBeforeTest() {
-        List<Booking> bookings = repository.findByItemOwnerIdAndEndBefore(1L, end.plusDays(1), pageRequest);
+    void findPageOfOwnerInFutureTest() {
+        List<Booking> bookings = repository.findPage(BookingRole.OWNER, 1L, BookingState.FUTURE,
+                start.minusDays(1), 0, 10);
 
         assertEquals(1, bookings.size());
     }
 
     @Test
-    void findByItemOwnerIdAndStartAfterTest() {
-        List<Booking> bookings = repository.findByItemOwnerIdAndStartAfter(1L, start.minusDays(1), pageRequest);
+    void findPageOfOwnerCurrentTest() {
+        List<Booking> bookings = repository.findPage(BookingRole.OWNER, 1L, BookingState.CURRENT,
+                start.plusHours(1), 0, 10);
 
         assertEquals(1, bookings.size());
     }
 
     @Test
-    void findByItemOwnerIdAndStartBeforeAndEndAfterTest() {
-        List<Booking> bookings = repository.findByItemOwnerIdAndStartBeforeAndEndAfter(1L, start.plusHours(1),
-                end.minusHours(1), pageRequest);
+    void findPageSkipsRowsBeforeFrom() {
+        List<Booking> bookings = repository.findPage(BookingRole.OWNER, 1L, BookingState.ALL,
+                LocalDateTime.now(), 1, 10);
 
-        assertEquals(1, bookings.size());
+        assertEquals(0, bookings.size());
     }
 
     @Test
@@ -133,9 +152,29 @@ public class BookingRepositoryTest {
         assertEquals(1, bookings.size());
     }
 
+    @Test
+    void findPageAfterContinuesFromCursorForBookerAndOwner() {
+        User user = userRepository.findById(2L).orElseThrow();
+        Item item = itemRepository.findById(1L).orElseThrow();
+        repository.save(new Booking(2L, start.plusDays(2), end.plusDays(2), item, user, BookingStatus.WAITING));
+        repository.save(new Booking(3L, start.plusDays(4), end.plusDays(4), item, user, BookingStatus.REJECTED));
+
+        List<Booking> firstPage = repository.findPageAfter(BookingRole.BOOKER, 2L, BookingState.ALL,
+                LocalDateTime.now(), null, 2);
+        Booking last = firstPage.get(firstPage.size() - 1);
+        List<Booking> secondPage = repository.findPageAfter(BookingRole.BOOKER, 2L, BookingState.ALL,
+                LocalDateTime.now(), new KeysetCursor(last.getStart(), last.getId()), 2);
+        List<Booking> ownerWaiting = repository.findPageAfter(BookingRole.OWNER, 1L, BookingState.WAITING,
+                LocalDateTime.now(), new KeysetCursor(last.getStart(), last.getId()), 10);
+
+        assertEquals(List.of(3L, 2L), firstPage.stream().map(Booking::getId).collect(Collectors.toList()));
+        assertEquals(List.of(1L), secondPage.stream().map(Booking::getId).collect(Collectors.toList()));
+        assertEquals(List.of(1L), ownerWaiting.stream().map(Booking::getId).collect(Collectors.toList()));
+    }
+
     @Test
     void findByBookerIdAndItemIdAndEndBeforeTest() {
-        List<Booking> bookings = repository.findAllByBookerIdAndEndBefore(2L, end.plusHours(1), pageRequest);
+        List<Booking> bookings = repository.findByBookerIdAndItemIdAndEndBefore(2L, 1L, end.plusHours(1));
 
         assertEquals(1, bookings.size());
     }
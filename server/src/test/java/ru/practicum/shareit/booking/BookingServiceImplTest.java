@@ -6,37 +6,50 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import org.springframework.dao.DataIntegrityViolationException;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
 import ru.practicum.shareit.exception.*;
+import ru.practicum.shareit.item.ItemBookingPointerService;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class BookingServiceImplTest {
-
     @Mock
     private BookingRepository repository;
     @Mock
     private UserService userService;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private BookingOverlapIndex overlapIndex;
+    @Mock
+    private BookingProperties properties;
+    @Mock
+    private ItemBookingPointerService pointerService;
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -73,6 +86,42 @@ public class BookingServiceImplTest {
 
     }
 
+    @Test
+    public void createFailWhenPeriodIsAlreadyBooked() {
+        long userId = 2;
+        long itemId = 1;
+        UserDto userDto = UserMapper.toUserDto(user);
+        when(userService.findUserById(userId)).thenReturn(userDto);
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(overlapIndex.hasConflict(itemId, bookingDto.getStart(), bookingDto.getEnd())).thenReturn(true);
+
+        assertThrows(BookingValidationException.class, () -> bookingService.create(bookingDto, userId));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    public void createAllReportsResultPerEntry() {
+        long userId = 2;
+        UserDto userDto = UserMapper.toUserDto(user);
+        BookingDto overlapping = new BookingDto(null, 1L, bookingDto.getStart().plusHours(1),
+                bookingDto.getEnd().plusHours(1), null);
+        BookingDto unknownItem = new BookingDto(null, 99L, bookingDto.getStart(), bookingDto.getEnd(), null);
+        when(userService.findUserById(userId)).thenReturn(userDto);
+        when(itemRepository.findAllById(any())).thenReturn(List.of(item));
+        when(repository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<BookingBatchResultDto> results = bookingService.createAll(List.of(bookingDto, overlapping, unknownItem),
+                userId);
+
+        assertEquals(3, results.size());
+        assertNotNull(results.get(0).getBooking());
+        assertNull(results.get(0).getError());
+        assertEquals("Item is already booked for the requested period", results.get(1).getError());
+        assertEquals("Item was not found", results.get(2).getError());
+        verify(userService).findUserById(userId);
+        verify(itemRepository, never()).findById(any());
+    }
+
     @Test
     public void createFailBookerNotFound() {
         long userId = 2;
@@ -96,22 +145,70 @@ public class BookingServiceImplTest {
     public void setBookingApprovalSuccessful() {
         long bookingId = 1;
         long userId = 1;
-        UserDto userDto = UserMapper.toUserDto(owner);
-        when(userService.findUserById(userId)).thenReturn(userDto);
         when(repository.findById(bookingId)).thenReturn(Optional.of(booking));
-        when(repository.save(booking)).thenReturn(booking);
+        when(repository.saveAndFlush(booking)).thenReturn(booking);
 
         bookingService.setBookingApproval(userId, true, bookingId);
 
-        verify(repository).save(booking);
+        verify(repository).saveAndFlush(booking);
+        verify(pointerService).onApproved(booking);
+    }
+
+    @Test
+    public void setBookingApprovalFailWhenApprovedBookingOverlaps() {
+        long bookingId = 1;
+        long userId = 1;
+        when(repository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(repository.existsByItemIdAndStatusAndIdNotAndStartBeforeAndEndAfter(item.getId(),
+                BookingStatus.APPROVED, bookingId, booking.getEnd(), booking.getStart())).thenReturn(true);
+
+        assertThrows(BookingValidationException.class, () -> bookingService.setBookingApproval(userId, true, bookingId));
+        verify(repository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    public void setBookingApprovalTranslatesExclusionViolation() {
+        long bookingId = 1;
+        long userId = 1;
+        when(repository.findById(bookingId)).thenReturn(Optional.of(booking));
+        when(properties.isPeriodConstraint()).thenReturn(true);
+        when(repository.saveAndFlush(booking)).thenThrow(new DataIntegrityViolationException("conflict",
+                new SQLException("conflicting key value violates exclusion constraint", "23P01")));
+
+        assertThrows(BookingValidationException.class, () -> bookingService.setBookingApproval(userId, true, bookingId));
+        verify(repository, never()).existsByItemIdAndStatusAndIdNotAndStartBeforeAndEndAfter(any(), any(), any(),
+                any(), any());
+    }
+
+    @Test
+    public void setBookingsApprovalRejectsWaitingBookingsWithOneUpdate() {
+        long userId = 1;
+        when(repository.findIdsOwnedBy(Set.of(1L, 2L), userId)).thenReturn(List.of(1L, 2L));
+        when(repository.updateStatusOfWaiting(Set.of(1L, 2L), BookingStatus.REJECTED, BookingStatus.WAITING))
+                .thenReturn(2);
+        when(repository.findItemIds(Set.of(1L, 2L))).thenReturn(List.of(1L));
+
+        BookingApprovalResultDto result = bookingService.setBookingsApproval(userId, false, List.of(1L, 2L), false);
+
+        assertEquals(2, result.getUpdated());
+        verify(overlapIndex).evict(List.of(1L));
+        verify(repository, never()).findById(any());
+    }
+
+    @Test
+    public void setBookingsApprovalFailWhenNotOwnerOfEveryBooking() {
+        long userId = 1;
+        when(repository.findIdsOwnedBy(Set.of(1L, 2L), userId)).thenReturn(List.of(1L));
+
+        assertThrows(BookingValidationException.class,
+                () -> bookingService.setBookingsApproval(userId, true, List.of(1L, 2L), false));
+        verify(repository, never()).updateStatusOfWaiting(any(), any(), any());
     }
 
     @Test
     public void setBookingApprovalFailBookingNotFound() {
         long bookingId = 1;
         long userId = 1;
-        UserDto userDto = UserMapper.toUserDto(owner);
-        when(userService.findUserById(userId)).thenReturn(userDto);
         when(repository.findById(bookingId)).thenThrow(new BookingNotFoundException(""));
 
         assertThrows(BookingNotFoundException.class, () -> bookingService.setBookingApproval(userId, true, bookingId));
@@ -121,11 +218,8 @@ public class BookingServiceImplTest {
     @Test
     public void setBookingApprovalFailWhenNotOwnerOfItem() {
         User user1 = new User(3L, "user", "user@mail.ru");
-        UserDto userDto = UserMapper.toUserDto(user1);
         long bookingId = 1;
         long userId = 3;
-
-        when(userService.findUserById(userId)).thenReturn(userDto);
         when(repository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         assertThrows(BookingValidationException.class, () -> bookingService.setBookingApproval(userId, true, bookingId));
@@ -135,9 +229,6 @@ public class BookingServiceImplTest {
     public void setBookingApprovalFailWhenUserIsBooker() {
         long bookingId = 1;
         long userId = 2;
-        UserDto userDto = UserMapper.toUserDto(user);
-
-        when(userService.findUserById(userId)).thenReturn(userDto);
         when(repository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         assertThrows(UserAccessForbiddenException.class, () -> bookingService.setBookingApproval(userId, true, bookingId));
@@ -149,8 +240,6 @@ public class BookingServiceImplTest {
         booking1.setStatus(BookingStatus.REJECTED);
         long bookingId = 1;
         long userId = 1;
-        UserDto userDto = UserMapper.toUserDto(owner);
-        when(userService.findUserById(userId)).thenReturn(userDto);
         when(repository.findById(bookingId)).thenReturn(Optional.of(booking1));
 
         assertThrows(BookingValidationException.class, () -> bookingService.setBookingApproval(userId, true, bookingId));
@@ -160,8 +249,6 @@ public class BookingServiceImplTest {
     public void findBookingByIdSuccessfulWhenUserIsOwner() {
         long bookingId = 1;
         long userId = 1;
-        UserDto userDto = UserMapper.toUserDto(owner);
-        when(userService.findUserById(userId)).thenReturn(userDto);
         when(repository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         BookingOutDto bookingOutDto = bookingService.findBookingById(bookingId, userId);
@@ -174,8 +261,6 @@ public class BookingServiceImplTest {
     public void findBookingByIdSuccessfulWhenUserIsBooker() {
         long bookingId = 1;
         long userId = 2;
-        UserDto userDto = UserMapper.toUserDto(user);
-        when(userService.findUserById(userId)).thenReturn(userDto);
         when(repository.findById(bookingId)).thenReturn(Optional.of(booking));
 
         BookingOutDto bookingOutDto = bookingService.findBookingById(bookingId, userId);
@@ -188,8 +273,7 @@ public class BookingServiceImplTest {
     public void findBookingByIdFailWhenUserNotFound() {
         long bookingId = 1;
         long userId = 1;
-        UserDto userDto = UserMapper.toUserDto(owner);
-        when(userService.findUserById(userId)).thenThrow(new UserNotFoundException(""));
+        doThrow(new UserNotFoundException("")).when(userService).assertUserExists(userId);
 
         assertThrows(UserNotFoundException.class, () -> bookingService.findBookingById(bookingId, userId));
     }
@@ -198,8 +282,6 @@ public class BookingServiceImplTest {
     public void findBookingByIdFailWhenBookingNotFound() {
         long bookingId = 1;
         long userId = 2;
-        UserDto userDto = UserMapper.toUserDto(user);
-        when(userService.findUserById(userId)).thenReturn(userDto);
         when(repository.findById(bookingId)).thenThrow(new BookingNotFoundException(""));
 
         assertThrows(BookingNotFoundException.class, () -> bookingService.findBookingById(bookingId, userId));
@@ -211,12 +293,8 @@ public class BookingServiceImplTest {
         long userId = 2;
         int from = 0;
         int size = 10;
-        Sort sort = Sort.by("start").descending();
-        Pageable pageRequest = PageRequest.of(0, size, sort);
-        UserDto userDto = UserMapper.toUserDto(user);
-
-        when(userService.findUserById(userId)).thenReturn(userDto);
-        when(repository.findAllByBookerId(userId, pageRequest)).thenReturn(List.of(booking));
+        when(repository.findPage(eq(BookingRole.BOOKER), eq(userId), eq(state), any(), eq(0), eq(size)))
+                .thenReturn(List.of(booking));
 
         List<BookingOutDto> bookings = bookingService.findBookingsOfUser(state, userId, from, size);
 
@@ -229,9 +307,8 @@ public class BookingServiceImplTest {
         long userId = 1;
         int from = 0;
         int size = 10;
-        Sort sort = Sort.by("start").descending();
 
-        when(userService.findUserById(userId)).thenThrow(new UserNotFoundException(""));
+        doThrow(new UserNotFoundException("")).when(userService).assertUserExists(userId);
 
         assertThrows(UserNotFoundException.class, () -> bookingService.findBookingsOfUser(state, userId, from, size));
     }
@@ -242,26 +319,39 @@ public class BookingServiceImplTest {
         long userId = 2;
         int from = 0;
         int size = 10;
-        Sort sort = Sort.by("start").descending();
-        UserDto userDto = UserMapper.toUserDto(user);
-
-        when(userService.findUserById(userId)).thenReturn(userDto);
 
         assertThrows(UnsupportedBookingStateException.class, () -> bookingService.findBookingsOfUser(state, userId, from, size));
     }
 
+    @Test
+    public void findBookingsOfUserAfterCursorSuccessful() {
+        long userId = 2;
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.now().plusDays(3), 5L);
+        when(repository.findPageAfter(eq(BookingRole.BOOKER), eq(userId), eq(BookingState.FUTURE), any(),
+                eq(cursor), eq(10))).thenReturn(List.of(booking));
+
+        List<BookingOutDto> bookings = bookingService.findBookingsOfUser(BookingState.FUTURE, userId,
+                cursor.encode(), 10);
+
+        assertEquals(1, bookings.size());
+    }
+
+    @Test
+    public void findBookingsOfOwnerFailWhenCursorIsInvalid() {
+        long userId = 1;
+
+        assertThrows(InvalidCursorException.class,
+                () -> bookingService.findBookingsOfOwner(BookingState.ALL, userId, "not-a-cursor", 10));
+    }
+
     @Test
     public void findBookingsOfOwnerSuccessful() {
         BookingState state = BookingState.ALL;
         long userId = 1;
         int from = 0;
         int size = 10;
-        Sort sort = Sort.by("start").descending();
-        Pageable pageRequest = PageRequest.of(0, size, sort);
-        UserDto userDto = UserMapper.toUserDto(owner);
-
-        when(userService.findUserById(userId)).thenReturn(userDto);
-        when(repository.findByItemOwnerId(userId, pageRequest)).thenReturn(List.of(booking));
+        when(repository.findPage(eq(BookingRole.OWNER), eq(userId), eq(state), any(), eq(0), eq(size)))
+                .thenReturn(List.of(booking));
 
         List<BookingOutDto> bookings = bookingService.findBookingsOfOwner(state, userId, from, size);
 
@@ -274,10 +364,8 @@ public class BookingServiceImplTest {
         long userId = 2;
         int from = 0;
         int size = 10;
-        Sort sort = Sort.by("start").descending();
-        Pageable pageRequest = PageRequest.of(0, size, sort);
 
-        when(userService.findUserById(userId)).thenThrow(new UserNotFoundException(""));
+        doThrow(new UserNotFoundException("")).when(userService).assertUserExists(userId);
 
         assertThrows(UserNotFoundException.class, () -> bookingService.findBookingsOfOwner(state, userId, from, size));
     }
@@ -288,8 +376,6 @@ public class BookingServiceImplTest {
         long userId = 2;
         int from = 0;
         int size = 10;
-        Sort sort = Sort.by("start").descending();
-        UserDto userDto = UserMapper.toUserDto(owner);
 
         assertThrows(UnsupportedBookingStateException.class, () -> bookingService.findBookingsOfOwner(state, userId, from, size));
     }
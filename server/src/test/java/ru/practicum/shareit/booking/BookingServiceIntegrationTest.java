@@ -7,8 +7,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingApprovalResultDto;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingOutDto;
+import ru.practicum.shareit.exception.BookingValidationException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
@@ -18,6 +21,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
 @AutoConfigureTestDatabase
@@ -59,6 +63,48 @@ public class BookingServiceIntegrationTest {
         assertEquals(1L, result.getItem().getId());
     }
 
+    @Test
+    public void createBookingFailWhenPeriodOverlapsWaitingBooking() {
+        long userId = 2L;
+        userRepository.save(owner);
+        userRepository.save(user);
+        itemRepository.save(item);
+        bookingService.create(bookingDto, userId);
+        BookingDto overlapping = new BookingDto(null, 1L, bookingDto.getStart().plusHours(2),
+                bookingDto.getEnd().plusDays(1), null);
+
+        assertThrows(BookingValidationException.class, () -> bookingService.create(overlapping, userId));
+    }
+
+    @Test
+    public void createBookingAfterOverlappingBookingWasRejected() {
+        long userId = 2L;
+        userRepository.save(owner);
+        userRepository.save(user);
+        itemRepository.save(item);
+        BookingOutDto first = bookingService.create(bookingDto, userId);
+        bookingService.setBookingApproval(1L, false, first.getId());
+
+        BookingOutDto second = bookingService.create(bookingDto, userId);
+
+        assertEquals(BookingStatus.WAITING, second.getStatus());
+    }
+
+    @Test
+    public void createAllBookingsTest() {
+        long userId = 2L;
+        userRepository.save(owner);
+        userRepository.save(user);
+        itemRepository.save(item);
+        BookingDto later = new BookingDto(null, 1L, bookingDto.getEnd(), bookingDto.getEnd().plusDays(1), null);
+
+        List<BookingBatchResultDto> results = bookingService.createAll(List.of(bookingDto, later, bookingDto), userId);
+
+        assertEquals(2, bookingRepository.count());
+        assertEquals(BookingStatus.WAITING, results.get(1).getBooking().getStatus());
+        assertEquals("Item is already booked for the requested period", results.get(2).getError());
+    }
+
     @Test
     public void setBookingApprovalTest() {
         long userId = 1L;
@@ -74,6 +120,64 @@ public class BookingServiceIntegrationTest {
         assertEquals(BookingStatus.APPROVED, bookingOutDto.getStatus());
     }
 
+    @Test
+    public void setBookingApprovalFailWhenApprovedBookingOverlaps() {
+        userRepository.save(owner);
+        userRepository.save(user);
+        itemRepository.save(item);
+        bookingRepository.save(booking);
+        bookingRepository.save(new Booking(2L, booking.getStart().plusDays(1), booking.getEnd().plusDays(1), item,
+                user, BookingStatus.WAITING));
+        bookingService.setBookingApproval(1L, true, 1L);
+
+        assertThrows(BookingValidationException.class, () -> bookingService.setBookingApproval(1L, true, 2L));
+        assertEquals(BookingStatus.WAITING, bookingRepository.findById(2L).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void setBookingsApprovalRejectsOverlappingWaitingBookings() {
+        userRepository.save(owner);
+        userRepository.save(user);
+        itemRepository.save(item);
+        bookingRepository.save(booking);
+        bookingRepository.save(new Booking(2L, booking.getEnd(), booking.getEnd().plusDays(1), item, user,
+                BookingStatus.WAITING));
+        bookingRepository.save(new Booking(3L, booking.getStart().plusDays(1), booking.getEnd().plusDays(1), item,
+                user, BookingStatus.WAITING));
+
+        BookingApprovalResultDto result = bookingService.setBookingsApproval(1L, true, List.of(1L, 2L), true);
+
+        assertEquals(2, result.getUpdated());
+        assertEquals(List.of(3L), result.getAutoRejected());
+        assertEquals(BookingStatus.APPROVED, bookingRepository.findById(2L).orElseThrow().getStatus());
+        assertEquals(BookingStatus.REJECTED, bookingRepository.findById(3L).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void setBookingsApprovalFailWhenApprovedBookingsWouldOverlap() {
+        userRepository.save(owner);
+        userRepository.save(user);
+        itemRepository.save(item);
+        bookingRepository.save(booking);
+        bookingRepository.save(new Booking(2L, booking.getStart().plusDays(1), booking.getEnd().plusDays(1), item,
+                user, BookingStatus.WAITING));
+
+        assertThrows(BookingValidationException.class,
+                () -> bookingService.setBookingsApproval(1L, true, List.of(1L, 2L), false));
+        assertEquals(BookingStatus.WAITING, bookingRepository.findById(1L).orElseThrow().getStatus());
+    }
+
+    @Test
+    public void setBookingsApprovalFailWhenNotOwner() {
+        userRepository.save(owner);
+        userRepository.save(user);
+        itemRepository.save(item);
+        bookingRepository.save(booking);
+
+        assertThrows(BookingValidationException.class,
+                () -> bookingService.setBookingsApproval(2L, false, List.of(1L), false));
+    }
+
     @Test
     public void findBookingByIdTest() {
         long userId = 1L;
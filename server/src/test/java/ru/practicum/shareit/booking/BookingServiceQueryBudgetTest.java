@@ -0,0 +1,90 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.support.QueryBudgetTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class BookingServiceQueryBudgetTest extends QueryBudgetTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Test
+    void create() {
+        BookingDto bookingDto = new BookingDto(null, items.get(0).getId(), now.plusDays(10), now.plusDays(11), null);
+
+        queryCounter.assertAtMost(4, () -> bookingService.create(bookingDto, booker.getId()));
+    }
+
+    @Test
+    void createAll() {
+        List<BookingDto> bookingDtos = List.of(
+                new BookingDto(null, items.get(0).getId(), now.plusDays(10), now.plusDays(11), null),
+                new BookingDto(null, items.get(1).getId(), now.plusDays(10), now.plusDays(11), null),
+                new BookingDto(null, items.get(2).getId(), now.plusDays(10), now.plusDays(11), null));
+
+        queryCounter.assertAtMost(6, () -> bookingService.createAll(bookingDtos, booker.getId()));
+    }
+
+    @Test
+    void createAllSendsInsertsAsOneBatch() {
+        List<BookingDto> bookingDtos = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            bookingDtos.add(new BookingDto(null, items.get(i % items.size()).getId(), now.plusDays(10 + i),
+                    now.plusDays(10 + i).plusHours(1), null));
+        }
+
+        // Earlier tests in the shared context may leave the id block nearly used up, costing one more nextval
+        queryCounter.assertAtMost(7, () -> bookingService.createAll(bookingDtos, booker.getId()));
+    }
+
+    @Test
+    void setBookingApproval() {
+        queryCounter.assertAtMost(8, () -> bookingService.setBookingApproval(owner.getId(), true,
+                bookings.get(2).getId()));
+    }
+
+    @Test
+    void setBookingsApproval() {
+        List<Long> ids = List.of(bookings.get(2).getId(), bookings.get(5).getId(), bookings.get(8).getId());
+
+        queryCounter.assertAtMost(13, () -> bookingService.setBookingsApproval(owner.getId(), true, ids, true));
+    }
+
+    @Test
+    void findBookingById() {
+        queryCounter.assertAtMost(2, () -> bookingService.findBookingById(bookings.get(0).getId(), booker.getId()));
+    }
+
+    @Test
+    void findBookingsOfUser() {
+        queryCounter.assertAtMost(3, () -> bookingService.findBookingsOfUser(BookingState.ALL, booker.getId(), 0, 10));
+    }
+
+    @Test
+    void findBookingsOfUserAfterCursor() {
+        String after = new KeysetCursor(now.plusDays(30), Long.MAX_VALUE).encode();
+
+        queryCounter.assertAtMost(3, () -> bookingService.findBookingsOfUser(BookingState.ALL, booker.getId(), after,
+                10));
+    }
+
+    @Test
+    void findBookingsOfOwner() {
+        queryCounter.assertAtMost(3, () -> bookingService.findBookingsOfOwner(BookingState.ALL, owner.getId(), 0,
+                10));
+    }
+
+    @Test
+    void findBookingsOfOwnerAfterCursor() {
+        String after = new KeysetCursor(now.plusDays(30), Long.MAX_VALUE).encode();
+
+        queryCounter.assertAtMost(3, () -> bookingService.findBookingsOfOwner(BookingState.ALL, owner.getId(), after,
+                10));
+    }
+}
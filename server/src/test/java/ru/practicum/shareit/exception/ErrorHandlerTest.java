@@ -87,6 +87,13 @@ public class ErrorHandlerTest {
         assertEquals(response, Map.of("Search for ItemRequest failed", ""));
     }
 
+    @Test
+    public void handleInvalidCursorExceptionTest() {
+        Map<String, String> response = errorHandler.handleInvalidCursorException(new InvalidCursorException(""));
+
+        assertEquals(response, Map.of("Pagination failed", ""));
+    }
+
     @Test
     public void handleUnknownExceptionTest() {
         Map<String, String> response = errorHandler.handleUnknownException(new Throwable(""));
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingPointer;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@DataJpaTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemBookingPointerRepositoryTest {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemBookingPointerRepository pointerRepository;
+
+    private Item item;
+    private User booker;
+    private LocalDateTime now;
+
+    @BeforeEach
+    public void initialize() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        User owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+        booker = userRepository.save(new User(null, "user", "user@mail.ru"));
+        item = itemRepository.save(new Item(null, "item", "description", true, owner, null));
+        itemRepository.save(new Item(null, "empty", "description", true, owner, null));
+    }
+
+    @Test
+    void resolveFromBookingsReturnsClosestApprovedBookingOnEachSide() {
+        save(now.minusDays(5), BookingStatus.APPROVED);
+        Booking last = save(now.minusDays(2), BookingStatus.APPROVED);
+        save(now.minusDays(1), BookingStatus.REJECTED);
+        save(now.plusHours(12), BookingStatus.WAITING);
+        Booking next = save(now.plusDays(1), BookingStatus.APPROVED);
+        save(now.plusDays(3), BookingStatus.APPROVED);
+        bookingRepository.flush();
+        Long emptyItemId = item.getId() + 1;
+
+        Map<Long, ItemBookingPointer> pointers = pointerRepository.resolveFromBookings(
+                List.of(item.getId(), emptyItemId), now);
+
+        assertEquals(last.getId(), pointers.get(item.getId()).getLast().getBookingId());
+        assertEquals(last.getStart(), pointers.get(item.getId()).getLast().getStart());
+        assertEquals(booker.getId(), pointers.get(item.getId()).getLast().getBookerId());
+        assertEquals(next.getId(), pointers.get(item.getId()).getNext().getBookingId());
+        assertNull(pointers.get(emptyItemId).getLast());
+        assertNull(pointers.get(emptyItemId).getNext());
+    }
+
+    private Booking save(LocalDateTime start, BookingStatus status) {
+        return bookingRepository.save(new Booking(null, start, start.plusHours(6), item, booker, status));
+    }
+}
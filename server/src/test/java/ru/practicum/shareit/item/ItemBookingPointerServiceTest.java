@@ -0,0 +1,105 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.model.BookingSnapshot;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingPointer;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemBookingPointerServiceTest {
+
+    @Mock
+    private ItemBookingPointerRepository repository;
+    @InjectMocks
+    private ItemBookingPointerService pointerService;
+    @Captor
+    private ArgumentCaptor<Iterable<ItemBookingPointer>> saved;
+
+    private Item item;
+    private User booker;
+
+    @BeforeEach
+    public void initialize() {
+        booker = new User(2L, "user", "user@mail.ru");
+        item = new Item(1L, "item", "description", true, new User(1L, "owner", "owner@mail.ru"), null);
+    }
+
+    @Test
+    void onApprovedReplacesLaterNextBooking() {
+        Booking later = booking(1L, LocalDateTime.now().plusDays(5));
+        Booking sooner = booking(2L, LocalDateTime.now().plusDays(1));
+        ItemBookingPointer pointer = new ItemBookingPointer(1L, null, BookingSnapshot.of(later));
+        when(repository.findById(1L)).thenReturn(Optional.of(pointer));
+
+        pointerService.onApproved(sooner);
+
+        assertEquals(2L, pointer.getNext().getBookingId());
+        assertNull(pointer.getLast());
+        verify(repository).save(pointer);
+        verify(repository, never()).resolveFromBookings(any(), any());
+    }
+
+    @Test
+    void findByItemIdsResolvesStalePointerFromBookings() {
+        Booking started = booking(1L, LocalDateTime.now().minusHours(1));
+        Booking upcoming = booking(2L, LocalDateTime.now().plusDays(1));
+        ItemBookingPointer stale = new ItemBookingPointer(1L, null, BookingSnapshot.of(started));
+        ItemBookingPointer fresh = new ItemBookingPointer(3L, null, null);
+        when(repository.findByItemIdIn(List.of(1L, 2L, 3L))).thenReturn(List.of(stale, fresh));
+        when(repository.resolveFromBookings(eq(Set.of(1L, 2L)), any())).thenReturn(Map.of(
+                1L, new ItemBookingPointer(1L, BookingSnapshot.of(started), BookingSnapshot.of(upcoming)),
+                2L, new ItemBookingPointer(2L, null, null)));
+
+        Map<Long, ItemBookingPointer> pointers = pointerService.findByItemIds(List.of(1L, 2L, 3L));
+
+        assertEquals(3, pointers.size());
+        assertEquals(1L, pointers.get(1L).getLast().getBookingId());
+        assertEquals(2L, pointers.get(1L).getNext().getBookingId());
+        assertSame(fresh, pointers.get(3L));
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void advanceMovesStartedNextBookingToLast() {
+        Booking started = booking(1L, LocalDateTime.now().minusHours(1));
+        ItemBookingPointer due = new ItemBookingPointer(1L, null, BookingSnapshot.of(started));
+        ItemBookingPointer advanced = new ItemBookingPointer(1L, BookingSnapshot.of(started), null);
+        when(repository.findByNextStartBefore(any())).thenReturn(List.of(due));
+        when(repository.resolveFromBookings(eq(List.of(1L)), any())).thenReturn(Map.of(1L, advanced));
+
+        pointerService.advance();
+
+        verify(repository).saveAll(saved.capture());
+        assertEquals(List.of(advanced), List.copyOf((Collection<ItemBookingPointer>) saved.getValue()));
+    }
+
+    private Booking booking(Long id, LocalDateTime start) {
+        return new Booking(id, start, start.plusDays(1), item, booker, BookingStatus.APPROVED);
+    }
+}
@@ -6,19 +6,29 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemViewDto;
+import ru.practicum.shareit.item.search.ItemSearchMode;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = ItemController.class)
@@ -104,7 +114,7 @@ public class ItemControllerTest {
     void searchItemByTextWhenWithoutParamsThenStatusOkAndParamIsDefault() {
         long userId = 1L;
         List<ItemDto> items = List.of(itemDto);
-        when(itemService.searchItemByText("item", 0, 10)).thenReturn(items);
+        when(itemService.searchItemByText("item", null, 0, 10)).thenReturn(items);
 
         String result = mockMvc.perform(get("/items/search")
                         .header("X-Sharer-User-Id", userId)
@@ -114,7 +124,7 @@ public class ItemControllerTest {
                 .getResponse()
                 .getContentAsString();
 
-        verify(itemService).searchItemByText("item", 0, 10);
+        verify(itemService).searchItemByText("item", null, 0, 10);
         assertEquals(objectMapper.writeValueAsString(items), result);
     }
 
@@ -123,7 +133,7 @@ public class ItemControllerTest {
     void searchItemByTextWhenWithoutSizeParamThenStatusOkAndSizeParamIsDefault() {
         long userId = 1L;
         List<ItemDto> items = List.of(itemDto);
-        when(itemService.searchItemByText("item", 2, 10)).thenReturn(items);
+        when(itemService.searchItemByText("item", null, 2, 10)).thenReturn(items);
 
         String result = mockMvc.perform(get("/items/search")
                         .header("X-Sharer-User-Id", userId)
@@ -134,17 +144,32 @@ public class ItemControllerTest {
                 .getResponse()
                 .getContentAsString();
 
-        verify(itemService).searchItemByText("item", 2, 10);
+        verify(itemService).searchItemByText("item", null, 2, 10);
         assertEquals(objectMapper.writeValueAsString(items), result);
     }
 
+    @SneakyThrows
+    @Test
+    void searchItemByTextWithModeThenStatusOk() {
+        List<ItemDto> items = List.of(itemDto);
+        when(itemService.searchItemByText("item", ItemSearchMode.FULLTEXT, 0, 10)).thenReturn(items);
+
+        mockMvc.perform(get("/items/search")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("text", "item")
+                        .param("mode", "FULLTEXT"))
+                .andExpect(status().isOk());
+
+        verify(itemService).searchItemByText("item", ItemSearchMode.FULLTEXT, 0, 10);
+    }
+
     @SneakyThrows
     @Test
     void searchItemByTextWhenWithParamsThenStatusOk() {
         long userId = 1L;
         String search = "item";
         List<ItemDto> items = List.of(itemDto);
-        when(itemService.searchItemByText("item", 2, 10)).thenReturn(items);
+        when(itemService.searchItemByText("item", null, 2, 10)).thenReturn(items);
 
         String result = mockMvc.perform(get("/items/search")
                         .header("X-Sharer-User-Id", userId)
@@ -156,10 +181,52 @@ public class ItemControllerTest {
                 .getResponse()
                 .getContentAsString();
 
-        verify(itemService).searchItemByText("item", 2, 10);
+        verify(itemService).searchItemByText("item", null, 2, 10);
         assertEquals(objectMapper.writeValueAsString(items), result);
     }
 
+    @SneakyThrows
+    @Test
+    void suggestNamesThenStatusOk() {
+        when(itemService.suggestNames("it")).thenReturn(List.of("item"));
+
+        String result = mockMvc.perform(get("/items/suggest")
+                        .header("X-Sharer-User-Id", 1L)
+                        .param("prefix", "it"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(objectMapper.writeValueAsString(List.of("item")), result);
+    }
+
+    @SneakyThrows
+    @Test
+    void exportOwnerDataThenStatusOkAndNdjson() {
+        doAnswer(invocation -> {
+            invocation.<OutputStream>getArgument(1).write("{\"type\":\"item\"}\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(itemService).exportOwnerData(eq(1L), any());
+
+        mockMvc.perform(get("/items/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"type\":\"item\"}\n"));
+    }
+
+    @SneakyThrows
+    @Test
+    void exportOwnerDataWhenUserNotFoundThenStatusNotFound() {
+        doThrow(new UserNotFoundException("User was not found")).when(itemService).exportOwnerData(eq(1L), any());
+
+        mockMvc.perform(get("/items/export")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
     @SneakyThrows
     @Test
     void createItemSuccessfulThenReturnStatusOk() {
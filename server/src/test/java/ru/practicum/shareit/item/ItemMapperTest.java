@@ -1,9 +1,10 @@
 package ru.practicum.shareit.item;
 
 import org.junit.jupiter.api.Test;
-import ru.practicum.shareit.booking.dto.BookingViewDto;
 import ru.practicum.shareit.item.dto.*;
+import ru.practicum.shareit.item.model.BookingSnapshot;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingPointer;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
@@ -57,21 +58,22 @@ class ItemMapperTest {
     @Test
     void toItemViewForOwnerDto() {
         Item item = new Item(1L, "item", "description", true, null, null);
-        BookingViewDto lastBooking = BookingViewDto.builder()
-                .start(LocalDateTime.now().minusDays(1L))
-                .build();
-        BookingViewDto nextBooking = BookingViewDto.builder()
-                .start(LocalDateTime.now().plusDays(1L))
-                .build();
-        List<BookingViewDto> bookings = List.of(lastBooking, nextBooking);
+        BookingSnapshot lastBooking = new BookingSnapshot(1L, 2L, LocalDateTime.now().minusDays(2L),
+                LocalDateTime.now().minusDays(1L));
+        BookingSnapshot nextBooking = new BookingSnapshot(2L, 2L, LocalDateTime.now().plusDays(1L),
+                LocalDateTime.now().plusDays(2L));
+        ItemBookingPointer pointer = new ItemBookingPointer(1L, lastBooking, nextBooking);
         List<CommentDto> comments = List.of(CommentDto.builder().build());
 
-        ItemViewDto itemViewDto = ItemMapper.toItemViewForOwnerDto(item, bookings, comments);
+        ItemViewDto itemViewDto = ItemMapper.toItemViewForOwnerDto(item, pointer, comments);
 
         assertEquals("item", itemViewDto.getName());
         assertNotNull(itemViewDto.getLastBooking());
         assertNotNull(itemViewDto.getNextBooking());
-        assertEquals(lastBooking, itemViewDto.getLastBooking());
+        assertEquals(1L, itemViewDto.getLastBooking().getId());
+        assertEquals(2L, itemViewDto.getLastBooking().getBookerId());
+        assertEquals(1L, itemViewDto.getLastBooking().getItemId());
+        assertEquals(2L, itemViewDto.getNextBooking().getId());
         assertEquals(1, itemViewDto.getComments().size());
     }
 
@@ -45,23 +45,32 @@ public class ItemRepositoryTest {
 
     @Test
     public void findAllByOwnerIdTest() {
-        List<Item> items = itemRepository.findAllByOwnerId(1L, pageRequest);
+        List<Item> items = itemRepository.findAllByOwnerIdAndDeletedFalse(1L, pageRequest);
 
         assertEquals(1, items.size());
     }
 
     @Test
-    public void findByNameOrDescriptionContainingIgnoreCaseAndAvailableIsTrueTest() {
-        List<Item> items = itemRepository.findByNameOrDescriptionContainingIgnoreCaseAndAvailableIsTrue("item",
-                "item", pageRequest);
+    public void searchAvailableTest() {
+        List<Item> items = itemRepository.searchAvailable("ITE", pageRequest);
 
         assertEquals(1, items.size());
     }
 
+    @Test
+    public void searchAvailableLeavesOutDeletedItemFoundByExactName() {
+        itemRepository.flush();
+        itemRepository.markDeleted(1L);
+
+        List<Item> items = itemRepository.searchAvailable("item", pageRequest);
+
+        assertEquals(0, items.size());
+    }
+
     @Test
     public void getByRequestIdInTest() {
         List<Long> requestIds = List.of(1L);
-        List<Item> items = itemRepository.getByRequestIdIn(requestIds);
+        List<Item> items = itemRepository.getByRequestIdInAndDeletedFalse(requestIds);
 
         assertEquals(1, items.size());
     }
@@ -6,6 +6,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.Booking;
@@ -19,7 +20,13 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemViewDto;
 import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.BookingSnapshot;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingPointer;
+import ru.practicum.shareit.item.search.ItemNameSuggester;
+import ru.practicum.shareit.item.search.ItemSearchCache;
+import ru.practicum.shareit.item.search.ItemSearchEngines;
+import ru.practicum.shareit.item.search.ItemSearchMode;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestService;
 import ru.practicum.shareit.user.User;
@@ -29,14 +36,18 @@ import ru.practicum.shareit.user.dto.UserMapper;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 public class ItemServiceImplTest {
-
     private User owner;
     private User user;
     private Item item;
@@ -46,6 +57,7 @@ public class ItemServiceImplTest {
     private ItemDto itemDto;
     private CommentDto commentDto;
     private ItemRequest request;
+    private ItemBookingPointer pointer;
 
     @Mock
     private ItemRepository itemRepository;
@@ -59,6 +71,16 @@ public class ItemServiceImplTest {
     private CommentRepository commentRepository;
     @Mock
     private ItemRequestService itemRequestService;
+    @Mock
+    private ItemBookingPointerService pointerService;
+    @Mock
+    private ItemSearchEngines searchEngines;
+    @Mock
+    private ItemSearchCache searchCache;
+    @Mock
+    private ItemNameSuggester nameSuggester;
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @BeforeEach
     public void initialize() {
@@ -70,6 +92,7 @@ public class ItemServiceImplTest {
         bookingLast = new Booking(1L, LocalDateTime.now().plusHours(1), LocalDateTime.now().plusDays(1),
                 item, user, BookingStatus.WAITING);
         bookingNext = new Booking();
+        pointer = new ItemBookingPointer(item.getId(), BookingSnapshot.of(bookingLast), null);
         itemDto = new ItemDto(1L, "item", "description", true, request.getId());
         commentDto = new CommentDto(1L, "comment", item.getId(), user.getId(), user.getName(), LocalDateTime.now());
     }
@@ -79,7 +102,7 @@ public class ItemServiceImplTest {
         long ownerId = 1L;
         int from = 0;
         int size = 10;
-        when(userService.findUserById(ownerId)).thenThrow(new UserNotFoundException("User was not found"));
+        doThrow(new UserNotFoundException("User was not found")).when(userService).assertUserExists(ownerId);
 
         assertThrows(UserNotFoundException.class, () -> itemService.getAllItemsByOwner(ownerId, from, size));
     }
@@ -90,12 +113,11 @@ public class ItemServiceImplTest {
         int from = 0;
         int size = 10;
         Pageable pageRequest = PageRequest.of(from, size);
-        when(userService.findUserById(ownerId)).thenReturn(UserMapper.toUserDto(owner));
-        when(itemRepository.findAllByOwnerId(ownerId, pageRequest)).thenReturn(List.of(item));
+        when(itemRepository.findAllByOwnerIdAndDeletedFalse(ownerId, pageRequest)).thenReturn(List.of(item));
 
         List<ItemViewDto> dtos = itemService.getAllItemsByOwner(ownerId, from, size);
 
-        verify(itemRepository).findAllByOwnerId(ownerId, pageRequest);
+        verify(itemRepository).findAllByOwnerIdAndDeletedFalse(ownerId, pageRequest);
         assertEquals(1, dtos.size());
         assertNull(dtos.get(0).getLastBooking());
         assertNull(dtos.get(0).getNextBooking());
@@ -107,15 +129,17 @@ public class ItemServiceImplTest {
         int from = 0;
         int size = 10;
         Pageable pageRequest = PageRequest.of(from, size);
-        when(userService.findUserById(ownerId)).thenReturn(UserMapper.toUserDto(owner));
-        when(itemRepository.findAllByOwnerId(ownerId, pageRequest)).thenReturn(List.of(item));
-        lenient().when(bookingRepository.findByItemIdIn(List.of(item.getId()))).thenReturn(List.of(bookingLast, bookingNext));
+        when(itemRepository.findAllByOwnerIdAndDeletedFalse(ownerId, pageRequest)).thenReturn(List.of(item));
+        when(pointerService.findByItemIds(Set.of(item.getId()))).thenReturn(Map.of(item.getId(), pointer));
         lenient().when(commentRepository.findByItemIdIn(List.of(item.getId()))).thenReturn(List.of(comment));
 
         List<ItemViewDto> dtos = itemService.getAllItemsByOwner(ownerId, from, size);
 
-        verify(itemRepository).findAllByOwnerId(ownerId, pageRequest);
+        verify(itemRepository).findAllByOwnerIdAndDeletedFalse(ownerId, pageRequest);
+        verify(bookingRepository, never()).findByItemIdIn(any());
         assertEquals(1, dtos.size());
+        assertEquals(bookingLast.getId(), dtos.get(0).getLastBooking().getId());
+        assertNull(dtos.get(0).getNextBooking());
     }
 
     @Test
@@ -136,13 +160,14 @@ public class ItemServiceImplTest {
         ItemDto dto = itemService.create(ItemMapper.toItemDto(item), owner.getId());
 
         verify(itemRepository).save(item);
+        verify(eventPublisher).publishEvent(new ItemChangedEvent(null, dto));
     }
 
     @Test
     public void updateItemWhenUserNotFoundThenThrowUserNotFoundException() {
         long ownerId = 1L;
         long itemId = 1L;
-        when(userService.findUserById(ownerId)).thenThrow(new UserNotFoundException(""));
+        doThrow(new UserNotFoundException("")).when(userService).assertUserExists(ownerId);
 
         assertThrows(UserNotFoundException.class, () -> itemService.update(itemDto, itemId, ownerId));
     }
@@ -151,7 +176,6 @@ public class ItemServiceImplTest {
     public void updateItemWhenItemNotFoundThenThrowItemNotFoundException() {
         long ownerId = 1L;
         long itemId = 1L;
-        when(userService.findUserById(ownerId)).thenReturn(UserMapper.toUserDto(owner));
         when(itemRepository.findById(itemId)).thenThrow(new ItemNotFoundException(""));
 
         assertThrows(ItemNotFoundException.class, () -> itemService.update(itemDto, itemId, ownerId));
@@ -161,7 +185,6 @@ public class ItemServiceImplTest {
     public void updateItemWhenUserNotOwnerThenThrowNotOwnerForbiddenException() {
         long userId = 2L;
         long itemId = 1L;
-        when(userService.findUserById(userId)).thenReturn(UserMapper.toUserDto(user));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
 
         assertThrows(NotOwnerForbiddenException.class, () -> itemService.update(itemDto, itemId, userId));
@@ -173,7 +196,6 @@ public class ItemServiceImplTest {
         long itemId = 1L;
         ItemDto dto = itemDto;
         dto.setDescription("update");
-        when(userService.findUserById(ownerId)).thenReturn(UserMapper.toUserDto(owner));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(itemRepository.save(item)).thenReturn(item);
 
@@ -187,7 +209,6 @@ public class ItemServiceImplTest {
     public void findItemByIdWhenItemNotFoundThenThrowItemNotFoundException() {
         long ownerId = 1L;
         long itemId = 1L;
-        when(userService.findUserById(ownerId)).thenReturn(UserMapper.toUserDto(owner));
         when(itemRepository.findById(itemId)).thenThrow(new ItemNotFoundException(""));
 
         assertThrows(ItemNotFoundException.class, () -> itemService.findItemById(itemId, ownerId));
@@ -198,7 +219,7 @@ public class ItemServiceImplTest {
         long ownerId = 1L;
         long itemId = 1L;
 
-        when(userService.findUserById(ownerId)).thenThrow(new UserNotFoundException(""));
+        doThrow(new UserNotFoundException("")).when(userService).assertUserExists(ownerId);
 
         assertThrows(UserNotFoundException.class, () -> itemService.findItemById(itemId, ownerId));
     }
@@ -207,14 +228,14 @@ public class ItemServiceImplTest {
     public void findItemByIdForOwnerThenReturnItemViewForOwnerDto() {
         long ownerId = 1L;
         long itemId = 1L;
-        when(userService.findUserById(ownerId)).thenReturn(UserMapper.toUserDto(owner));
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(commentRepository.findAllByItemId(itemId)).thenReturn(List.of(comment));
-        when(bookingRepository.findByItemId(itemId)).thenReturn(List.of(bookingLast));
+        when(pointerService.findByItemIds(List.of(itemId))).thenReturn(Map.of(itemId, pointer));
 
         ItemViewDto itemViewDto = itemService.findItemById(itemId, ownerId);
 
         assertEquals(1, itemViewDto.getId());
+        assertEquals(bookingLast.getId(), itemViewDto.getLastBooking().getId());
         assertFalse(itemViewDto.getComments().isEmpty());
     }
 
@@ -222,9 +243,13 @@ public class ItemServiceImplTest {
     public void deleteItem() {
         long itemId = 1L;
 
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
+        when(itemRepository.markDeleted(itemId)).thenReturn(1);
+
         itemService.delete(itemId);
 
-        verify(itemRepository).deleteById(itemId);
+        verify(itemRepository).markDeleted(itemId);
+        verify(eventPublisher).publishEvent(new ItemChangedEvent(ItemMapper.toItemDto(item), null));
     }
 
     @Test
@@ -233,7 +258,7 @@ public class ItemServiceImplTest {
         int size = 10;
         String text = "";
 
-        List<ItemDto> result = itemService.searchItemByText(text, from, size);
+        List<ItemDto> result = itemService.searchItemByText(text, null, from, size);
 
         assertTrue(result.isEmpty());
     }
@@ -243,16 +268,26 @@ public class ItemServiceImplTest {
         int from = 0;
         int size = 10;
         String text = "item";
-        Pageable pageRequest = PageRequest.of(from, size);
-        when(itemRepository.findByNameOrDescriptionContainingIgnoreCaseAndAvailableIsTrue(text, text, pageRequest))
-                .thenReturn(List.of(item));
+        when(searchEngines.resolve(null)).thenReturn(ItemSearchMode.SUBSTRING);
+        when(searchCache.get(eq(text), eq(ItemSearchMode.SUBSTRING), eq(from), eq(size), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<List<ItemDto>>>getArgument(4).get());
+        when(searchEngines.search(text, ItemSearchMode.SUBSTRING, from, size)).thenReturn(List.of(item));
 
-        List<ItemDto> result = itemService.searchItemByText(text, from, size);
+        List<ItemDto> result = itemService.searchItemByText(text, null, from, size);
 
         assertEquals(1, result.size());
         assertEquals(1, result.get(0).getId());
     }
 
+    @Test
+    public void suggestNamesThenReturnCompletions() {
+        when(nameSuggester.suggest("it")).thenReturn(List.of("item"));
+
+        List<String> result = itemService.suggestNames("it");
+
+        assertEquals(List.of("item"), result);
+    }
+
     @Test
     public void addCommentWhenUserNotFoundThenThrowUserNotFoundException() {
         long ownerId = 1L;
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,17 +12,22 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.booking.BookingStatus;
 import ru.practicum.shareit.exception.*;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchMode;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -35,6 +43,10 @@ class ItemServiceIntegrationTest {
     private final UserRepository userRepository;
     private final ItemRequestRepository requestRepository;
     private final BookingRepository bookingRepository;
+    private final BookingService bookingService;
+    private final ItemBookingPointerRepository pointerRepository;
+    private final CommentRepository commentRepository;
+    private final ObjectMapper objectMapper;
 
     private User owner;
     private User user;
@@ -54,6 +66,40 @@ class ItemServiceIntegrationTest {
         comment = new Comment(1L, "text", item, user, LocalDateTime.now());
     }
 
+    @Test
+    @SneakyThrows
+    void exportOwnerDataWritesOneRecordPerLine() {
+        userRepository.save(owner);
+        userRepository.save(user);
+        item.setOwner(owner);
+        itemRepository.save(item);
+        bookingRepository.save(booking);
+        commentRepository.save(comment);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        itemService.exportOwnerData(owner.getId(), out);
+
+        List<JsonNode> records = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            records.add(objectMapper.readTree(line));
+        }
+        assertEquals(3, records.size());
+        assertEquals("item", records.get(0).get("type").asText());
+        assertEquals("item", records.get(0).get("data").get("name").asText());
+        assertEquals("booking", records.get(1).get("type").asText());
+        assertEquals(user.getId(), records.get(1).get("data").get("booker").get("id").asLong());
+        assertEquals("comment", records.get(2).get("type").asText());
+        assertEquals("user", records.get(2).get("data").get("authorName").asText());
+    }
+
+    @Test
+    void exportOwnerDataWhenUserNotFoundThenWriteNothing() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(UserNotFoundException.class, () -> itemService.exportOwnerData(99L, out));
+        assertEquals(0, out.size());
+    }
+
     @Test
     void getAllItemsByOwnerWhenDbIsEmptyThenReturnEmptyList() {
         int from = 0;
@@ -149,6 +195,25 @@ class ItemServiceIntegrationTest {
         assertThrows(ItemValidationException.class, () -> itemService.update(itemUpdate, item.getId(), owner.getId()));
     }
 
+    @Test
+    void findItemByIdForOwnerReadsBookingPointers() {
+        userRepository.save(owner);
+        userRepository.save(user);
+        item.setOwner(owner);
+        itemRepository.save(item);
+        bookingRepository.save(booking);
+        bookingRepository.save(new Booking(2L, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2),
+                item, user, BookingStatus.WAITING));
+        bookingService.setBookingApproval(owner.getId(), true, 2L);
+
+        ItemViewDto result = itemService.findItemById(item.getId(), owner.getId());
+
+        assertTrue(pointerRepository.existsById(item.getId()));
+        assertEquals(1L, result.getLastBooking().getId());
+        assertEquals(2L, result.getNextBooking().getId());
+        assertEquals(user.getId(), result.getNextBooking().getBookerId());
+    }
+
     @Test
     void findItemByIdSuccessful() {
         userRepository.save(owner);
@@ -199,11 +264,24 @@ class ItemServiceIntegrationTest {
         item.setOwner(owner);
         itemRepository.save(item);
 
-        assertEquals(1, itemRepository.findAll().size());
+        itemService.delete(item.getId());
+
+        assertFalse(itemRepository.findById(item.getId()).orElseThrow().getAvailable());
+        assertTrue(itemService.searchItemByText("descr", null, 0, 10).isEmpty());
+    }
 
+    @Test
+    void deletedItemIsMissingUntilPurged() {
+        userRepository.save(owner);
+        item.setOwner(owner);
+        itemRepository.save(item);
         itemService.delete(item.getId());
+        ItemDto update = ItemDto.builder().available(true).build();
 
-        assertTrue(itemRepository.findAll().isEmpty());
+        assertThrows(ItemNotFoundException.class, () -> itemService.update(update, item.getId(), owner.getId()));
+        assertThrows(ItemNotFoundException.class, () -> itemService.findItemById(item.getId(), owner.getId()));
+        assertTrue(itemService.getAllItemsByOwner(owner.getId(), 0, 10).isEmpty());
+        assertFalse(itemRepository.findById(item.getId()).orElseThrow().getAvailable());
     }
 
     @Test
@@ -212,7 +290,7 @@ class ItemServiceIntegrationTest {
         item.setOwner(owner);
         itemRepository.save(item);
 
-        List<ItemDto> result = itemService.searchItemByText("", 0, 10);
+        List<ItemDto> result = itemService.searchItemByText("", null, 0, 10);
 
         assertTrue(result.isEmpty());
     }
@@ -223,12 +301,46 @@ class ItemServiceIntegrationTest {
         item.setOwner(owner);
         itemRepository.save(item);
 
-        List<ItemDto> result = itemService.searchItemByText("item", 0, 10);
+        List<ItemDto> result = itemService.searchItemByText("item", null, 0, 10);
 
         assertEquals("item", result.get(0).getName());
         assertEquals("description", result.get(0).getDescription());
     }
 
+    @Test
+    void searchItemByTextSeesItemsCreatedAfterCachedSearch() {
+        userRepository.save(owner);
+        itemService.create(new ItemDto(null, "Drill", "Corded drill", true, null), owner.getId());
+        assertEquals(1, itemService.searchItemByText("drill", null, 0, 10).size());
+
+        itemService.create(new ItemDto(null, "Hammer", "Hammer drill", true, null), owner.getId());
+
+        assertEquals(2, itemService.searchItemByText("drill", null, 0, 10).size());
+    }
+
+    @Test
+    void searchItemByTextInFuzzyModeToleratesTypos() {
+        userRepository.save(owner);
+        itemService.create(new ItemDto(null, "Аккумуляторная дрель", "С зарядкой", true, null), owner.getId());
+
+        List<ItemDto> result = itemService.searchItemByText("акумуляторнай", ItemSearchMode.FUZZY, 0, 10);
+
+        assertEquals(1, result.size());
+        assertTrue(itemService.searchItemByText("пила", ItemSearchMode.FUZZY, 0, 10).isEmpty());
+    }
+
+    @Test
+    void searchItemByTextInFulltextModeMatchesWordPrefixes() {
+        userRepository.save(owner);
+        itemService.create(new ItemDto(null, "Аккумуляторная дрель", "С зарядкой", true, null), owner.getId());
+
+        List<ItemDto> result = itemService.searchItemByText("дре аккум", ItemSearchMode.FULLTEXT, 0, 10);
+
+        assertEquals(1, result.size());
+        assertEquals("Аккумуляторная дрель", result.get(0).getName());
+        assertTrue(itemService.searchItemByText("ккум", ItemSearchMode.FULLTEXT, 0, 10).isEmpty());
+    }
+
     @Test
     void addCommentSuccessful() {
         userRepository.save(owner);
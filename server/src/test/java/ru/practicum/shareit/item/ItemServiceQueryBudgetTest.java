@@ -0,0 +1,76 @@
+package ru.practicum.shareit.item;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.support.QueryBudgetTest;
+
+import java.io.ByteArrayOutputStream;
+
+class ItemServiceQueryBudgetTest extends QueryBudgetTest {
+
+    @Autowired
+    private ItemService itemService;
+
+    @Test
+    void getAllItemsByOwner() {
+        queryCounter.assertAtMost(5, () -> itemService.getAllItemsByOwner(owner.getId(), 0, 10));
+    }
+
+    @Test
+    void create() {
+        ItemDto itemDto = new ItemDto(null, "new", "new item", true, requests.get(0).getId());
+
+        queryCounter.assertAtMost(3, () -> itemService.create(itemDto, owner.getId()));
+    }
+
+    @Test
+    void update() {
+        ItemDto itemDto = new ItemDto(null, "renamed", null, null, null);
+
+        queryCounter.assertAtMost(3, () -> itemService.update(itemDto, items.get(0).getId(), owner.getId()));
+    }
+
+    @Test
+    void findItemById() {
+        queryCounter.assertAtMost(5, () -> itemService.findItemById(items.get(0).getId(), owner.getId()));
+    }
+
+    @Test
+    void delete() {
+        Item unbooked = itemRepository.save(new Item(null, "unbooked", "unbooked", true, owner, null));
+        queryCounter.reset();
+
+        queryCounter.assertAtMost(2, () -> itemService.delete(unbooked.getId()));
+    }
+
+    @Test
+    void searchItemByText() {
+        queryCounter.assertAtMost(1, () -> itemService.searchItemByText("item", null, 0, 10));
+    }
+
+    @Test
+    void exportOwnerData() {
+        queryCounter.assertAtMost(4, () -> export(owner.getId()));
+    }
+
+    @Test
+    void suggestNames() {
+        queryCounter.assertAtMost(0, () -> itemService.suggestNames("it"));
+    }
+
+    @Test
+    void addComment() {
+        CommentDto commentDto = new CommentDto(null, "great", null, null, null, null);
+
+        queryCounter.assertAtMost(4, () -> itemService.addComment(commentDto, items.get(0).getId(), booker.getId()));
+    }
+
+    @SneakyThrows
+    private void export(Long ownerId) {
+        itemService.exportOwnerData(ownerId, new ByteArrayOutputStream());
+    }
+}
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item.imports;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CopyItemImportStagingTest {
+
+    @Test
+    void toCsvQuotesTextAndLeavesMissingRequestUnquoted() {
+        List<ItemImportRow> rows = List.of(
+                ItemImportRow.of(1, "Saw \"Bosch\"", "Two,\nlines", true, null).withItemId(51L),
+                ItemImportRow.of(2, "Drill", "Cordless", false, 7L).withItemId(52L));
+
+        assertEquals("job,1,51,\"Saw \"\"Bosch\"\"\",\"Two,\nlines\",true,\n"
+                + "job,2,52,\"Drill\",\"Cordless\",false,7\n", CopyItemImportStaging.toCsv("job", rows));
+    }
+}
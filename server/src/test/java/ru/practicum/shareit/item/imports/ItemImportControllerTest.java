@@ -0,0 +1,57 @@
+package ru.practicum.shareit.item.imports;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.exception.ItemImportJobNotFoundException;
+import ru.practicum.shareit.item.dto.ItemImportJobDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemImportController.class)
+class ItemImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @MockBean
+    private ItemImportService importService;
+
+    private final ItemImportJobDto job = new ItemImportJobDto("job", ItemImportStatus.RUNNING, 0, 0, 0, List.of(),
+            null, LocalDateTime.now(), null);
+
+    @SneakyThrows
+    @Test
+    void importCsvThenStatusAccepted() {
+        when(importService.start(eq(1L), eq(ItemImportFormat.CSV), any())).thenReturn(job);
+
+        mockMvc.perform(post("/items/import")
+                        .header("X-Sharer-User-Id", 1L)
+                        .contentType("text/csv;charset=UTF-8")
+                        .content("name,description,available\nDrill,Cordless drill,true\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("job"))
+                .andExpect(jsonPath("$.status").value("RUNNING"));
+    }
+
+    @SneakyThrows
+    @Test
+    void findJobOfOtherUserThenStatusNotFound() {
+        when(importService.findJob("job", 2L)).thenThrow(new ItemImportJobNotFoundException("Import job was not found"));
+
+        mockMvc.perform(get("/items/import/job")
+                        .header("X-Sharer-User-Id", 2L))
+                .andExpect(status().isNotFound());
+    }
+}
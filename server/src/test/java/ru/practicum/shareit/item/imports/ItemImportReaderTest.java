@@ -0,0 +1,81 @@
+package ru.practicum.shareit.item.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.ItemValidationException;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ItemImportReaderTest {
+
+    @Test
+    void csvWithQuotedFieldsAndColumnsInAnyOrder() {
+        List<ItemImportRow> rows = readAll(ItemImportFormat.CSV, "available,name,description,request_id\r\n"
+                + "true,Drill,\"Cordless, 18V\",\r\n"
+                + "FALSE,\"Saw \"\"Bosch\"\"\",\"Two\nlines\",7\r\n");
+
+        assertEquals(2, rows.size());
+        assertEquals(ItemImportRow.of(1, "Drill", "Cordless, 18V", true, null), rows.get(0));
+        assertEquals(ItemImportRow.of(2, "Saw \"Bosch\"", "Two\nlines", false, 7L), rows.get(1));
+    }
+
+    @Test
+    void csvRowsAreValidatedOneByOne() {
+        List<ItemImportRow> rows = readAll(ItemImportFormat.CSV, "name,description,available,requestId\n"
+                + ",description,true,\n"
+                + "Drill,description,maybe,\n"
+                + "Drill,description,true,first\n"
+                + "Drill,description\n"
+                + "\n"
+                + "Drill,description,true,\n");
+
+        assertEquals(List.of("Name must not be empty", "Available must be true or false",
+                "Request id must be a number", "Expected 4 columns but found 2"),
+                rows.subList(0, 4).stream().map(ItemImportRow::getError).collect(Collectors.toList()));
+        assertFalse(rows.get(4).isRejected());
+        assertEquals(5, rows.get(4).getNumber());
+    }
+
+    @Test
+    void csvWithoutRequiredColumnIsRejectedAsAWhole() {
+        assertThrows(ItemValidationException.class,
+                () -> readAll(ItemImportFormat.CSV, "name,description\nDrill,description\n"));
+    }
+
+    @Test
+    void ndjsonRows() {
+        List<ItemImportRow> rows = readAll(ItemImportFormat.NDJSON,
+                "{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true,\"requestId\":3}\n"
+                        + "\n"
+                        + "{\"name\":\"Saw\",\"description\":\"Hand saw\",\"available\":\"yes\"}\n"
+                        + "{\"name\":\"Saw\"\n"
+                        + "[1, 2]\n"
+                        + "{\"name\":\"Saw\",\"description\":\"Hand saw\"}\n");
+
+        assertEquals(ItemImportRow.of(1, "Drill", "Cordless", true, 3L), rows.get(0));
+        assertEquals("Available must be true or false", rows.get(1).getError());
+        assertEquals("Malformed JSON", rows.get(2).getError());
+        assertEquals("Row must be a JSON object", rows.get(3).getError());
+        assertEquals("Available must be set", rows.get(4).getError());
+        assertEquals(5, rows.get(4).getNumber());
+    }
+
+    @SneakyThrows
+    private static List<ItemImportRow> readAll(ItemImportFormat format, String content) {
+        List<ItemImportRow> rows = new ArrayList<>();
+        try (ItemImportReader reader = new ItemImportReader(new BufferedReader(new StringReader(content)), format,
+                new ObjectMapper())) {
+            for (ItemImportRow row = reader.next(); row != null; row = reader.next()) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
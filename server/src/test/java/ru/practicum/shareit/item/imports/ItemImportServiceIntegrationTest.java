@@ -0,0 +1,125 @@
+package ru.practicum.shareit.item.imports;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exception.ItemImportJobNotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportErrorDto;
+import ru.practicum.shareit.item.dto.ItemImportJobDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchMode;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemImportServiceIntegrationTest {
+
+    private final ItemImportService importService;
+    private final ItemService itemService;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final ItemRequestRepository requestRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private ItemRequest request;
+
+    @BeforeEach
+    public void initialize() {
+        owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+        User requester = userRepository.save(new User(null, "requester", "requester@mail.ru"));
+        request = requestRepository.save(new ItemRequest(null, "request", requester, LocalDateTime.now()));
+    }
+
+    @Test
+    void importCsvInsertsValidRowsAndReportsTheRest() throws Exception {
+        String csv = "name,description,available,requestId\n"
+                + "Drill,Cordless drill,true,\n"
+                + "Saw,Hand saw,true," + request.getId() + "\n"
+                + ",No name,true,\n"
+                + "Ladder,Folding ladder,false,999\n";
+
+        ItemImportJobDto job = await(importService.start(owner.getId(), ItemImportFormat.CSV, stream(csv)));
+
+        assertEquals(ItemImportStatus.COMPLETED, job.getStatus());
+        assertEquals(4, job.getRowsRead());
+        assertEquals(2, job.getRowsRejected());
+        assertEquals(2, job.getRowsImported());
+        assertEquals(List.of(new ItemImportErrorDto(3, "Name must not be empty"),
+                new ItemImportErrorDto(4, "Request 999 was not found")), job.getErrors());
+        List<Item> items = itemRepository.findAll();
+        assertEquals(List.of("Drill", "Saw"), items.stream().map(Item::getName).sorted().collect(Collectors.toList()));
+        assertTrue(items.stream().allMatch(item -> item.getOwner().getId().equals(owner.getId())));
+        assertEquals(request.getId(), items.stream().filter(item -> item.getName().equals("Saw")).findFirst()
+                .orElseThrow().getRequest().getId());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item_import_rows", Integer.class));
+    }
+
+    @Test
+    void importedItemsAreSearchableAndNewItemsGetFreshIds() throws Exception {
+        String ndjson = "{\"name\":\"Drill\",\"description\":\"Cordless drill\",\"available\":true}\n"
+                + "{\"name\":\"Hammer\",\"description\":\"Claw hammer\",\"available\":true}\n";
+
+        await(importService.start(owner.getId(), ItemImportFormat.NDJSON, stream(ndjson)));
+        ItemDto created = itemService.create(new ItemDto(null, "Saw", "Hand saw", true, null), owner.getId());
+
+        assertEquals(List.of("Drill"), itemService.searchItemByText("cordless", ItemSearchMode.FULLTEXT, 0, 10)
+                .stream().map(ItemDto::getName).collect(Collectors.toList()));
+        assertEquals(3, itemRepository.count());
+        assertTrue(itemRepository.findAll().stream().filter(item -> !item.getName().equals("Saw"))
+                .allMatch(item -> item.getId() < created.getId()));
+    }
+
+    @Test
+    void importWithInvalidHeaderFails() throws Exception {
+        ItemImportJobDto job = await(importService.start(owner.getId(), ItemImportFormat.CSV,
+                stream("title,available\nDrill,true\n")));
+
+        assertEquals(ItemImportStatus.FAILED, job.getStatus());
+        assertNotNull(job.getFailure());
+        assertEquals(0, itemRepository.count());
+    }
+
+    @Test
+    void jobIsVisibleOnlyToItsOwner() throws Exception {
+        ItemImportJobDto job = await(importService.start(owner.getId(), ItemImportFormat.CSV,
+                stream("name,description,available\nDrill,Cordless drill,true\n")));
+
+        assertThrows(ItemImportJobNotFoundException.class, () -> importService.findJob(job.getId(), owner.getId() + 1));
+    }
+
+    private ItemImportJobDto await(ItemImportJobDto started) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        ItemImportJobDto job = started;
+        while (job.getStatus() == ItemImportStatus.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            job = importService.findJob(started.getId(), owner.getId());
+        }
+        return job;
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FullTextItemSearchEngineTest {
+
+    @Test
+    void toPrefixQueryMatchesEveryWordAsPrefix() {
+        assertEquals("аккумуляторная:* & дрель:*", FullTextItemSearchEngine.toPrefixQuery("Аккумуляторная Дрель"));
+    }
+
+    @Test
+    void toPrefixQueryDropsTsqueryOperators() {
+        assertEquals("drill:* & saw:*", FullTextItemSearchEngine.toPrefixQuery(" drill & !saw:* | "));
+    }
+
+    @Test
+    void toPrefixQueryOfPunctuationIsEmpty() {
+        assertEquals("", FullTextItemSearchEngine.toPrefixQuery("&|!"));
+    }
+}
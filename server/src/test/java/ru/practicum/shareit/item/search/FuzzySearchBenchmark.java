@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item.search;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of fuzzy and exact index lookups against the catalogue size. Not a test: run its main method, or
+ * org.openjdk.jmh.Main with the test classpath after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FuzzySearchBenchmark {
+
+    private static final int VOCABULARY_SIZE = 50_000;
+    private static final int WORDS_PER_ITEM = 6;
+
+    @Param({"10000", "100000", "1000000"})
+    private int items;
+
+    private ItemSearchIndex index;
+    private String[] vocabulary;
+    private String exactQuery;
+    private String typoQuery;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        vocabulary = new String[VOCABULARY_SIZE];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random, 4 + random.nextInt(8));
+        }
+        List<ItemDto> catalogue = new ArrayList<>(items);
+        for (long id = 1; id <= items; id++) {
+            StringBuilder description = new StringBuilder();
+            for (int w = 0; w < WORDS_PER_ITEM; w++) {
+                description.append(vocabulary[random.nextInt(vocabulary.length)]).append(' ');
+            }
+            catalogue.add(new ItemDto(id, vocabulary[random.nextInt(vocabulary.length)], description.toString(),
+                    true, null));
+        }
+        index = new ItemSearchIndex(null);
+        index.load(catalogue);
+
+        String word = vocabulary[random.nextInt(vocabulary.length)];
+        exactQuery = word;
+        typoQuery = word.substring(0, 1) + word.substring(2) + "x";
+    }
+
+    @Benchmark
+    public long[] exact() {
+        return index.search(exactQuery);
+    }
+
+    @Benchmark
+    public long[] fuzzy() {
+        return index.searchFuzzy(typoQuery);
+    }
+
+    private static String word(Random random, int length) {
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(FuzzySearchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,117 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemNameSuggesterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @InjectMocks
+    private ItemNameSuggester suggester;
+
+    @Test
+    void suggestCompletesAnyWordOfNameIgnoringCase() {
+        put(1L, "Аккумуляторная дрель", true);
+        put(2L, "Дрель-шуруповерт", true);
+        put(3L, "Отвертка", true);
+        suggester.rebuildIfDirty();
+
+        assertEquals(List.of("Аккумуляторная дрель", "Дрель-шуруповерт"), suggester.suggest("ДРЕ"));
+        assertEquals(List.of("Дрель-шуруповерт"), suggester.suggest("шуруп"));
+        assertEquals(List.of("Аккумуляторная дрель"), suggester.suggest(" аккумуляторная д"));
+        assertTrue(suggester.suggest("пила").isEmpty());
+        assertTrue(suggester.suggest(" ").isEmpty());
+    }
+
+    @Test
+    void suggestRanksSharedNamesFirstAndKeepsBestCompletions() {
+        IntStream.range(0, 15).forEach(i -> put((long) i, "Дрель " + (char) ('a' + i), true));
+        put(20L, "Дрель z", true);
+        put(21L, "Дрель z", true);
+        suggester.rebuildIfDirty();
+
+        List<String> expected = IntStream.range(0, 9)
+                .mapToObj(i -> "Дрель " + (char) ('a' + i))
+                .collect(Collectors.toList());
+        expected.add(0, "Дрель z");
+        assertEquals(expected, suggester.suggest("дрель"));
+    }
+
+    @Test
+    void changesAreVisibleAfterRebuild() {
+        put(1L, "Дрель", true);
+        put(2L, "Дрель ударная", true);
+        suggester.rebuildIfDirty();
+
+        put(1L, "Дрель", false);
+        suggester.onItemChanged(new ItemChangedEvent(new ItemDto(2L, "Дрель ударная", "", true, null), null));
+        assertEquals(2, suggester.suggest("дрель").size());
+
+        suggester.rebuildIfDirty();
+        assertTrue(suggester.suggest("дрель").isEmpty());
+    }
+
+    @Test
+    void loadDropsNamesOfItemsNoLongerStored() throws SQLException {
+        put(1L, "Дрель", true);
+        suggester.rebuildIfDirty();
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(2L);
+        when(rs.getString("name")).thenReturn("Пила");
+        doAnswer(invocation -> {
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        suggester.load();
+
+        assertTrue(suggester.suggest("дрель").isEmpty());
+        assertEquals(List.of("Пила"), suggester.suggest("пи"));
+    }
+
+    @Test
+    void changesCommittedWhileLoadingSurviveTheLoad() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(1L);
+        when(rs.getString("name")).thenReturn("Дрель");
+        doAnswer(invocation -> {
+            // The snapshot was read before these changes committed
+            put(2L, "Пила", true);
+            put(1L, "Дрель", false);
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        suggester.load();
+
+        assertTrue(suggester.suggest("дрель").isEmpty());
+        assertEquals(List.of("Пила"), suggester.suggest("пи"));
+    }
+
+    private void put(Long id, String name, boolean available) {
+        suggester.onItemChanged(new ItemChangedEvent(null, new ItemDto(id, name, "", available, null)));
+    }
+}
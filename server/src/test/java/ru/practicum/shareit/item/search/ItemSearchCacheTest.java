@@ -0,0 +1,143 @@
+package ru.practicum.shareit.item.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.SyncTaskExecutor;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemsDeletedEvent;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchCacheTest {
+
+    @Mock
+    private ItemSearchEngines engines;
+
+    private MeterRegistry meterRegistry;
+    private ItemSearchCache cache;
+    private ItemDto drill;
+    private ItemDto saw;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    public void initialize() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ItemSearchCache(engines, new ItemSearchProperties(), meterRegistry, new SyncTaskExecutor());
+        when(engines.normalize(anyString(), any())).thenAnswer(invocation -> invocation.<String>getArgument(0)
+                .toLowerCase());
+        drill = new ItemDto(1L, "Дрель", "Аккумуляторная дрель", true, null);
+        saw = new ItemDto(2L, "Пила", "Ножовка", true, null);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void repeatedQueryIsServedFromCacheIgnoringCase() {
+        cache.get("дрель", ItemSearchMode.SUBSTRING, 0, 10, loader(drill));
+        List<ItemDto> result = cache.get("ДРЕЛЬ", ItemSearchMode.SUBSTRING, 0, 10, loader(drill));
+
+        assertEquals(List.of(drill), result);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "itemSearch").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void changeOfMatchingItemInvalidatesEveryPageOfQuery() {
+        when(engines.matches(eq("дрель"), eq(ItemSearchMode.SUBSTRING), any())).thenReturn(true);
+        cache.get("дрель", ItemSearchMode.SUBSTRING, 0, 10, loader(drill));
+        cache.get("дрель", ItemSearchMode.SUBSTRING, 1, 10, loader());
+
+        cache.onItemChanged(new ItemChangedEvent(null, drill));
+        cache.get("дрель", ItemSearchMode.SUBSTRING, 0, 10, loader(drill));
+        cache.get("дрель", ItemSearchMode.SUBSTRING, 1, 10, loader());
+
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void changeOfOtherItemKeepsQuery() {
+        when(engines.matches("дрель", ItemSearchMode.SUBSTRING, saw)).thenReturn(false);
+        cache.get("дрель", ItemSearchMode.SUBSTRING, 0, 10, loader(drill));
+
+        cache.onItemChanged(new ItemChangedEvent(null, saw));
+        cache.get("дрель", ItemSearchMode.SUBSTRING, 0, 10, loader(drill));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void itemThatStoppedMatchingInvalidatesQuery() {
+        ItemDto renamed = new ItemDto(1L, "Перфоратор", "Сетевой", true, null);
+        when(engines.matches("дрель", ItemSearchMode.FULLTEXT, drill)).thenReturn(true);
+        cache.get("дрель", ItemSearchMode.FULLTEXT, 0, 10, loader(drill));
+
+        cache.onItemChanged(new ItemChangedEvent(drill, renamed));
+        cache.get("дрель", ItemSearchMode.FULLTEXT, 0, 10, loader());
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void deletedItemsInvalidateOnlyQueriesTheyMatch() {
+        when(engines.matches(eq("дрель"), eq(ItemSearchMode.SUBSTRING), any())).thenReturn(false);
+        when(engines.matches("пила", ItemSearchMode.SUBSTRING, saw)).thenReturn(true);
+        cache.get("дрель", ItemSearchMode.SUBSTRING, 0, 10, loader(drill));
+        cache.get("пила", ItemSearchMode.SUBSTRING, 0, 10, loader(saw));
+
+        cache.onItemsDeleted(new ItemsDeletedEvent(1L, List.of(saw)));
+        cache.get("дрель", ItemSearchMode.SUBSTRING, 0, 10, loader(drill));
+        cache.get("пила", ItemSearchMode.SUBSTRING, 0, 10, loader());
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void searchesBypassCacheUntilInvalidationIsDone() {
+        List<Runnable> tasks = new ArrayList<>();
+        cache = new ItemSearchCache(engines, new ItemSearchProperties(), meterRegistry, tasks::add);
+        when(engines.matches("дрель", ItemSearchMode.SUBSTRING, drill)).thenReturn(true);
+        cache.get("дрель", ItemSearchMode.SUBSTRING, 0, 10, loader(drill));
+
+        cache.onItemChanged(new ItemChangedEvent(drill, null));
+        cache.get("дрель", ItemSearchMode.SUBSTRING, 0, 10, loader());
+        tasks.forEach(Runnable::run);
+        List<ItemDto> result = cache.get("дрель", ItemSearchMode.SUBSTRING, 0, 10, loader());
+        cache.get("дрель", ItemSearchMode.SUBSTRING, 0, 10, loader());
+
+        assertEquals(List.of(), result);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void callersGetCopiesOfCachedItems() {
+        cache.get("дрель", ItemSearchMode.SUBSTRING, 0, 10, loader(drill)).get(0).setName("Перфоратор");
+
+        List<ItemDto> result = cache.get("дрель", ItemSearchMode.SUBSTRING, 0, 10, loader(drill));
+
+        assertEquals("Дрель", result.get(0).getName());
+        assertEquals(1, loads.get());
+    }
+
+    private Supplier<List<ItemDto>> loader(ItemDto... items) {
+        return () -> {
+            loads.incrementAndGet();
+            return List.of(items);
+        };
+    }
+}
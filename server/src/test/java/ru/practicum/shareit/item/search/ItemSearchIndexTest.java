@@ -0,0 +1,160 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import ru.practicum.shareit.item.ItemChangedEvent;
+import ru.practicum.shareit.item.ItemsDeletedEvent;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @InjectMocks
+    private ItemSearchIndex index;
+
+    @BeforeEach
+    public void initialize() {
+        put(item(3L, "Дрель", "Аккумуляторная дрель", true));
+        put(item(1L, "Отвертка", "Аккумуляторная отвертка", true));
+        put(item(2L, "Дрель ударная", "Сетевая", true));
+    }
+
+    @Test
+    void searchMatchesEveryWordAsPrefixIgnoringCase() {
+        assertArrayEquals(new long[]{1L, 3L}, index.search("аккУМУл"));
+        assertArrayEquals(new long[]{3L}, index.search("дрель, аккумуляторная"));
+        assertArrayEquals(new long[]{2L, 3L}, index.search("ДРЕ"));
+    }
+
+    @Test
+    void searchOfShortPrefixUnitesPostingsOfEveryMatchingToken() {
+        put(item(5L, "Сверло", "Сетевой сверлильный станок", true));
+        put(item(4L, "Сетка", "Сито", true));
+
+        assertArrayEquals(new long[]{2L, 4L, 5L}, index.search("с"));
+        assertArrayEquals(new long[]{2L, 4L, 5L}, index.search("се"));
+    }
+
+    @Test
+    void searchOfUnknownWordOrPunctuationIsEmpty() {
+        assertEquals(0, index.search("пила").length);
+        assertEquals(0, index.search("дрель пила").length);
+        assertEquals(0, index.search("&|!").length);
+    }
+
+    @Test
+    void updatedItemIsReindexed() {
+        put(item(3L, "Перфоратор", "Сетевой", true));
+
+        assertArrayEquals(new long[]{2L}, index.search("дрель"));
+        assertArrayEquals(new long[]{3L}, index.search("перфоратор"));
+    }
+
+    @Test
+    void unavailableAndRemovedItemsAreNotFound() {
+        put(item(3L, "Дрель", "Аккумуляторная дрель", false));
+        index.onItemChanged(new ItemChangedEvent(item(2L, "Дрель ударная", "Сетевая", true), null));
+
+        assertEquals(0, index.search("дрель").length);
+        assertArrayEquals(new long[]{1L}, index.search("аккумуляторная"));
+    }
+
+    @Test
+    void itemsDeletedWithOwnerAreDroppedWithoutReload() {
+        index.onItemsDeleted(new ItemsDeletedEvent(4L, List.of(item(3L, "Дрель", "Аккумуляторная дрель", true),
+                item(2L, "Дрель ударная", "Сетевая", true))));
+
+        assertEquals(0, index.search("дрель").length);
+        assertArrayEquals(new long[]{1L}, index.search("аккумуляторная"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void changesCommittedWhileLoadingSurviveTheLoad() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(3L);
+        when(rs.getString("name")).thenReturn("Дрель");
+        when(rs.getString("description")).thenReturn("Аккумуляторная дрель");
+        doAnswer(invocation -> {
+            // The snapshot was read before these changes committed
+            put(item(5L, "Рубанок", "Ручной", true));
+            put(item(3L, "Дрель", "Аккумуляторная дрель", false));
+            invocation.<RowCallbackHandler>getArgument(1).processRow(rs);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class));
+
+        index.load();
+
+        assertEquals(0, index.search("дрель").length);
+        assertArrayEquals(new long[]{5L}, index.search("рубанок"));
+        put(item(6L, "Пила", "Ручная", true));
+        assertArrayEquals(new long[]{5L, 6L}, index.search("руч"));
+    }
+
+    @Test
+    void searchFuzzyToleratesTyposInEveryWord() {
+        assertArrayEquals(new long[]{2L, 3L}, index.searchFuzzy("дрнль"));
+        assertArrayEquals(new long[]{1L, 3L}, index.searchFuzzy("акумуляторнае"));
+        assertArrayEquals(new long[]{3L}, index.searchFuzzy("дрелб акамуляторная"));
+    }
+
+    @Test
+    void searchFuzzyRejectsTooManyEdits() {
+        assertEquals(0, index.searchFuzzy("дрынб").length);
+        assertEquals(0, index.searchFuzzy("акумулятр").length);
+    }
+
+    @Test
+    void searchFuzzyForgetsTermsOfRemovedItems() {
+        index.onItemChanged(new ItemChangedEvent(item(2L, "Дрель ударная", "Сетевая", true), null));
+
+        assertEquals(0, index.searchFuzzy("сетевая").length);
+        assertEquals(0, index.searchFuzzy("ударня").length);
+    }
+
+    @Test
+    void distanceStopsAtBudget() {
+        assertEquals(2, ItemSearchIndex.distance("дрель", "дрлеь", 2));
+        assertEquals(3, ItemSearchIndex.distance("дрель", "пила", 2));
+        assertEquals(0, ItemSearchIndex.distance("пила", "пила", 0));
+    }
+
+    @Test
+    void matchesAgreesWithSearch() {
+        assertTrue(ItemSearchIndex.matches("дре аккум", "Дрель", "Аккумуляторная дрель"));
+        assertFalse(ItemSearchIndex.matches("ккум", "Дрель", "Аккумуляторная дрель"));
+        assertTrue(ItemSearchIndex.matchesFuzzy("дрнль", "Дрель", "Сетевая"));
+        assertFalse(ItemSearchIndex.matchesFuzzy("дрнль", "Пила", "Сетевая"));
+    }
+
+    private void put(ItemDto item) {
+        index.onItemChanged(new ItemChangedEvent(null, item));
+    }
+
+    private ItemDto item(Long id, String name, String description, boolean available) {
+        return new ItemDto(id, name, description, available, null);
+    }
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TrigramItemSearchEngineTest {
+
+    @Test
+    void toContainsPatternWrapsTextInWildcards() {
+        assertEquals("%drill%", TrigramItemSearchEngine.toContainsPattern("drill"));
+    }
+
+    @Test
+    void toContainsPatternEscapesLikeWildcards() {
+        assertEquals("%50\\%\\_off\\\\%", TrigramItemSearchEngine.toContainsPattern("50%_off\\"));
+    }
+}
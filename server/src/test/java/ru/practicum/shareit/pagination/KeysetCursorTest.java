@@ -0,0 +1,26 @@
+package ru.practicum.shareit.pagination;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.InvalidCursorException;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeysetCursorTest {
+
+    @Test
+    void decodeReturnsEncodedPosition() {
+        KeysetCursor cursor = new KeysetCursor(LocalDateTime.of(2023, 5, 1, 10, 15, 30, 123456000), 42L);
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decodeFailsOnMalformedToken() {
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("%%%"));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("bm8tc2VwYXJhdG9y"));
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("MjAyMy0wNS0wMXwx"));
+    }
+}
@@ -0,0 +1,141 @@
+package ru.practicum.shareit.purge;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.exception.ItemNotFoundException;
+import ru.practicum.shareit.exception.UserNotFoundException;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemBookingPointerRepository;
+import ru.practicum.shareit.item.ItemBookingPointerService;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "shareit.purge.batch-size=2")
+@AutoConfigureTestDatabase
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class PurgeWorkerIntegrationTest {
+
+    private final PurgeWorker purgeWorker;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository requestRepository;
+    private final BookingRepository bookingRepository;
+    private final CommentRepository commentRepository;
+    private final ItemBookingPointerRepository pointerRepository;
+    private final ItemBookingPointerService pointerService;
+    private final MeterRegistry meterRegistry;
+
+    private User owner;
+    private User booker;
+    private Item otherItem;
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    public void createFixture() {
+        owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+        booker = userRepository.save(new User(null, "booker", "booker@mail.ru"));
+        User other = userRepository.save(new User(null, "other", "other@mail.ru"));
+        ItemRequest request = requestRepository.save(new ItemRequest(null, "request", owner, now));
+        otherItem = itemRepository.save(new Item(null, "other", "answers the owner", true, other, request));
+        for (int i = 0; i < 3; i++) {
+            Item item = itemRepository.save(new Item(null, "item " + i, "description", true, owner, null));
+            bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1), item, booker,
+                    BookingStatus.APPROVED));
+            bookingRepository.save(new Booking(null, now.plusDays(1), now.plusDays(2), item, booker,
+                    BookingStatus.WAITING));
+            commentRepository.save(new Comment(null, "comment", item, booker, now));
+        }
+        bookingRepository.save(new Booking(null, now.minusDays(2), now.minusDays(1), otherItem, booker,
+                BookingStatus.APPROVED));
+        commentRepository.save(new Comment(null, "comment", otherItem, owner, now));
+        pointerService.refresh(List.of(otherItem.getId()));
+    }
+
+    @Test
+    void deletedUserIsPurgedWithEverythingThatRefersToThem() {
+        userService.delete(owner.getId());
+
+        assertThrows(UserNotFoundException.class, () -> userService.findUserById(owner.getId()));
+        assertTrue(userRepository.existsById(owner.getId()));
+
+        purgeWorker.purge();
+
+        assertFalse(userRepository.existsById(owner.getId()));
+        assertEquals(List.of(otherItem.getId()), itemRepository.findAll().stream().map(Item::getId)
+                .collect(Collectors.toList()));
+        assertNull(itemRepository.findById(otherItem.getId()).orElseThrow().getRequest());
+        assertTrue(requestRepository.findAll().isEmpty());
+        assertEquals(1, bookingRepository.count());
+        assertEquals(0, commentRepository.count());
+        assertEquals(6, meterRegistry.get("shareit.purge.deleted").tag("table", "bookings").counter().count());
+        assertEquals(0, meterRegistry.get("shareit.purge.pending").tag("entity", "users").gauge().value());
+    }
+
+    @Test
+    void itemsOfDeletedUserAreMissingBeforeThePurge() {
+        assertEquals(3, itemService.searchItemByText("descr", null, 0, 10).size());
+
+        userService.delete(owner.getId());
+
+        assertTrue(itemService.searchItemByText("descr", null, 0, 10).isEmpty());
+        Item item = itemRepository.findAll().stream()
+                .filter(found -> found.getOwner().getId().equals(owner.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertTrue(item.isDeleted());
+        assertThrows(ItemNotFoundException.class, () -> itemService.findItemById(item.getId(), booker.getId()));
+    }
+
+    @Test
+    void deletedBookerIsPurgedAndPointersOfOtherItemsAreRefreshed() {
+        assertNotNull(pointerRepository.findById(otherItem.getId()).orElseThrow().getLast());
+
+        userService.delete(booker.getId());
+        purgeWorker.purge();
+
+        assertFalse(userRepository.existsById(booker.getId()));
+        assertEquals(0, bookingRepository.count());
+        assertEquals(1, commentRepository.count());
+        assertEquals(4, itemRepository.count());
+        assertNull(pointerRepository.findById(otherItem.getId()).orElseThrow().getLast());
+    }
+
+    @Test
+    void deletedItemIsPurgedWithItsBookingsAndComments() {
+        itemService.delete(otherItem.getId());
+
+        assertFalse(itemRepository.findById(otherItem.getId()).orElseThrow().getAvailable());
+
+        purgeWorker.purge();
+
+        assertFalse(itemRepository.existsById(otherItem.getId()));
+        assertEquals(6, bookingRepository.count());
+        assertEquals(3, commentRepository.count());
+        assertTrue(userRepository.existsById(owner.getId()));
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestInDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutDto;
 import ru.practicum.shareit.user.User;
@@ -21,6 +22,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -39,7 +41,8 @@ public class ItemRequestControllerTest {
     @BeforeEach
     public void createRequest() {
         User user = new User(1L, "user", "user@mail.ru");
-        outDto = new ItemRequestOutDto(1L, "description", user, LocalDateTime.now(), new ArrayList<>());
+        outDto = new ItemRequestOutDto(1L, "description", user, LocalDateTime.now(), new ArrayList<>(),
+                user.getId());
     }
 
     @SneakyThrows
@@ -47,19 +50,40 @@ public class ItemRequestControllerTest {
     void getUserRequestsWithAnswersSuccessfulThenReturnListOfRequest() {
         long userId = 1L;
         List<ItemRequestOutDto> requests = List.of(outDto);
-        when(service.getUserRequestsWithAnswers(userId)).thenReturn(requests);
+        when(service.getUserRequestsWithAnswers(userId, null, 10)).thenReturn(requests);
 
         String result = mvc.perform(get("/requests")
                         .header("X-Sharer-User-Id", userId))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(KeysetCursor.NEXT_CURSOR_HEADER))
                 .andReturn()
                 .getResponse()
                 .getContentAsString();
 
-        verify(service).getUserRequestsWithAnswers(userId);
+        verify(service).getUserRequestsWithAnswers(userId, null, 10);
         assertEquals(objectMapper.writeValueAsString(requests), result);
     }
 
+    @SneakyThrows
+    @Test
+    void getUserRequestsWithAnswersWhenPageIsFullThenReturnNextCursor() {
+        long userId = 1L;
+        String after = new KeysetCursor(LocalDateTime.now().plusDays(1), 7L).encode();
+        when(service.getUserRequestsWithAnswers(userId, after, 1)).thenReturn(List.of(outDto));
+
+        String nextCursor = mvc.perform(get("/requests")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("size", String.valueOf(1))
+                        .param("after", after))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(KeysetCursor.NEXT_CURSOR_HEADER);
+
+        verify(service).getUserRequestsWithAnswers(userId, after, 1);
+        assertEquals(new KeysetCursor(outDto.getCreated(), outDto.getId()), KeysetCursor.decode(nextCursor));
+    }
+
     @SneakyThrows
     @Test
     void getItemRequestSuccessfulThenReturnRequest() {
@@ -135,6 +159,22 @@ public class ItemRequestControllerTest {
         assertEquals(objectMapper.writeValueAsString(requests), result);
     }
 
+    @SneakyThrows
+    @Test
+    void getRequestsOfOthersWhenAfterIsGivenThenUseCursor() {
+        long userId = 1L;
+        String after = new KeysetCursor(LocalDateTime.now().plusDays(1), 7L).encode();
+        when(service.getRequestsOfOthers(userId, after, 10)).thenReturn(List.of(outDto));
+
+        mvc.perform(get("/requests/all")
+                        .header("X-Sharer-User-Id", userId)
+                        .param("after", after))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(KeysetCursor.NEXT_CURSOR_HEADER));
+
+        verify(service).getRequestsOfOthers(userId, after, 10);
+    }
+
     @SneakyThrows
     @Test
     void createItemRequestSuccessfulThenReturnStatusOk() {
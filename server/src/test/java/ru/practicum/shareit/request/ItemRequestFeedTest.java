@@ -0,0 +1,96 @@
+package ru.practicum.shareit.request;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.request.dto.ItemRequestOutDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemRequestFeedTest {
+
+    @Mock
+    private ItemRequestRepository repository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ItemRequestFeed feed;
+
+    @BeforeEach
+    public void createFeed() {
+        ItemRequestProperties properties = new ItemRequestProperties();
+        properties.getFeed().setSize(4);
+        feed = new ItemRequestFeed(repository, properties, meterRegistry);
+    }
+
+    private static List<ItemRequestOutDto> requests(long... requesterIds) {
+        List<ItemRequestOutDto> requests = new ArrayList<>();
+        LocalDateTime created = LocalDateTime.now();
+        for (int i = 0; i < requesterIds.length; i++) {
+            requests.add(new ItemRequestOutDto((long) i, "request " + i, null, created.minusHours(i), List.of(),
+                    requesterIds[i]));
+        }
+        return requests;
+    }
+
+    private static List<Long> ids(List<ItemRequestOutDto> requests) {
+        return requests.stream().map(ItemRequestOutDto::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void firstPageOfSkipsOwnRequestsAndSharesOneRead() {
+        when(repository.findNewest(4)).thenReturn(requests(1, 2, 1, 3));
+
+        assertEquals(List.of(1L, 3L), ids(feed.firstPageOf(1L, 2).orElseThrow()));
+        assertEquals(List.of(0L, 1L), ids(feed.firstPageOf(3L, 2).orElseThrow()));
+        verify(repository, times(1)).findNewest(4);
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "requestFeed").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void firstPageOfIsCompleteWhenFeedHoldsEveryRequest() {
+        when(repository.findNewest(4)).thenReturn(requests(1, 2));
+
+        assertEquals(List.of(1L), ids(feed.firstPageOf(1L, 2).orElseThrow()));
+    }
+
+    @Test
+    void firstPageOfLeavesPagesTheFeedCannotFillToTheDatabase() {
+        when(repository.findNewest(4)).thenReturn(requests(1, 1, 1, 2));
+
+        assertTrue(feed.firstPageOf(1L, 2).isEmpty());
+        assertTrue(feed.firstPageOf(2L, 5).isEmpty());
+    }
+
+    @Test
+    void firstPageOfReturnsCopiesCallersMayChange() {
+        List<ItemRequestOutDto> requests = requests(2);
+        requests.get(0).setItems(new ArrayList<>(List.of(new ItemForRequestDto(1L, 0L, "Дрель", 3L, "Простая дрель",
+                true))));
+        when(repository.findNewest(4)).thenReturn(requests);
+
+        ItemRequestOutDto changed = feed.firstPageOf(1L, 2).orElseThrow().get(0);
+        changed.setDescription("changed");
+        changed.getItems().get(0).setName("changed");
+        changed.getItems().clear();
+
+        ItemRequestOutDto request = feed.firstPageOf(1L, 2).orElseThrow().get(0);
+        assertEquals("request 0", request.getDescription());
+        assertEquals(1, request.getItems().size());
+        assertEquals("Дрель", request.getItems().get(0).getName());
+    }
+}
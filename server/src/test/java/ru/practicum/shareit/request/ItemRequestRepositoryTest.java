@@ -4,16 +4,22 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemForRequestDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
+import ru.practicum.shareit.request.dto.ItemRequestOutDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
@@ -23,12 +29,19 @@ public class ItemRequestRepositoryTest {
     private UserRepository userRepository;
     @Autowired
     private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private User user;
+    private User user1;
+    private ItemRequest request;
 
     @BeforeEach
     public void createRequests() {
-        User user = new User(1L, "user", "user@mail.ru");
-        User user1 = new User(2L, "user1", "user1@mail.ru");
-        ItemRequest request = new ItemRequest(1L, "request", user, LocalDateTime.now());
+        user = new User(1L, "user", "user@mail.ru");
+        user1 = new User(2L, "user1", "user1@mail.ru");
+        request = new ItemRequest(1L, "request", user, now);
 
         userRepository.save(user);
         userRepository.save(user1);
@@ -36,18 +49,86 @@ public class ItemRequestRepositoryTest {
     }
 
     @Test
-    public void findByRequesterIdTest() {
-        List<ItemRequest> requests = itemRequestRepository.findByRequesterId(1L);
+    public void findPageOfRequesterReturnsNewestFirstWithAnswers() {
+        ItemRequest older = itemRequestRepository.save(new ItemRequest(null, "older", user, now.minusDays(1)));
+        ItemRequest sameTime = itemRequestRepository.save(new ItemRequest(null, "same time", user, now));
+        itemRequestRepository.save(new ItemRequest(null, "other", user1, now.plusDays(1)));
+        itemRepository.save(new Item(null, "first", "answer", true, user1, request));
+        itemRepository.save(new Item(null, "second", "answer", false, user1, request));
+        itemRepository.flush();
+
+        List<ItemRequestOutDto> page = itemRequestRepository.findPageOfRequester(1L, null, 10);
+
+        assertEquals(List.of(sameTime.getId(), request.getId(), older.getId()), ids(page));
+        assertTrue(page.get(0).getItems().isEmpty());
+        assertEquals(List.of("first", "second"), page.get(1).getItems().stream()
+                .map(ItemForRequestDto::getName)
+                .collect(Collectors.toList()));
+        assertEquals(request.getId(), page.get(1).getItems().get(0).getRequestId());
+        assertEquals(user1.getId(), page.get(1).getItems().get(0).getOwnerId());
+    }
+
+    @Test
+    public void findPageOfRequesterContinuesAfterCursor() {
+        ItemRequest older = itemRequestRepository.save(new ItemRequest(null, "older", user, now.minusDays(1)));
+        ItemRequest sameTime = itemRequestRepository.save(new ItemRequest(null, "same time", user, now));
+        itemRequestRepository.flush();
+
+        List<ItemRequestOutDto> first = itemRequestRepository.findPageOfRequester(1L, null, 1);
+        ItemRequestOutDto last = first.get(0);
+        List<ItemRequestOutDto> rest = itemRequestRepository.findPageOfRequester(1L,
+                new KeysetCursor(last.getCreated(), last.getId()), 10);
+
+        assertEquals(List.of(sameTime.getId()), ids(first));
+        assertEquals(List.of(request.getId(), older.getId()), ids(rest));
+    }
+
+    @Test
+    public void findPageOfOthersSkipsOwnRequests() {
+        ItemRequest other = itemRequestRepository.save(new ItemRequest(null, "other", user1, now.plusDays(1)));
+        ItemRequest older = itemRequestRepository.save(new ItemRequest(null, "older", user, now.minusDays(1)));
+        itemRequestRepository.flush();
+
+        assertEquals(List.of(request.getId(), older.getId()), ids(itemRequestRepository.findPageOfOthers(2L, 0, 10)));
+        assertEquals(List.of(older.getId()), ids(itemRequestRepository.findPageOfOthers(2L, 1, 10)));
+        assertEquals(List.of(older.getId()), ids(itemRequestRepository.findPageOfOthersAfter(2L,
+                new KeysetCursor(request.getCreated(), request.getId()), 10)));
+        assertEquals(List.of(other.getId()), ids(itemRequestRepository.findPageOfOthers(1L, 0, 10)));
+    }
+
+    @Test
+    public void findNewestReturnsRequestsOfAllUsers() {
+        ItemRequest other = itemRequestRepository.save(new ItemRequest(null, "other", user1, now.plusDays(1)));
+        itemRequestRepository.save(new ItemRequest(null, "older", user, now.minusDays(1)));
+        itemRequestRepository.flush();
+
+        List<ItemRequestOutDto> newest = itemRequestRepository.findNewest(2);
 
-        assertEquals(1, requests.size());
+        assertEquals(List.of(other.getId(), request.getId()), ids(newest));
+        assertEquals(List.of(user1.getId(), user.getId()), newest.stream()
+                .map(ItemRequestOutDto::getRequesterId)
+                .collect(Collectors.toList()));
     }
 
     @Test
-    public void findByRequesterIdNot() {
-        Pageable pageRequest = PageRequest.of(0, 10);
-        List<ItemRequest> requests = itemRequestRepository.findByRequesterIdNot(2L, pageRequest);
+    public void pagesLeaveOutDeletedAnswersAndRequestsOfDeletedUsers() {
+        Item deleted = itemRepository.save(new Item(null, "deleted", "answer", true, user1, request));
+        itemRepository.save(new Item(null, "kept", "answer", true, user1, request));
+        itemRequestRepository.save(new ItemRequest(null, "other", user1, now.plusDays(1)));
+        itemRepository.flush();
+        itemRepository.markDeleted(deleted.getId());
+        userRepository.markDeleted(user1.getId());
+
+        List<ItemRequestOutDto> page = itemRequestRepository.findPageOfRequester(1L, null, 10);
+
+        assertEquals(List.of("kept"), page.get(0).getItems().stream()
+                .map(ItemForRequestDto::getName)
+                .collect(Collectors.toList()));
+        assertEquals(List.of(request.getId()), ids(itemRequestRepository.findNewest(10)));
+        assertTrue(itemRequestRepository.findPageOfOthers(1L, 0, 10).isEmpty());
+    }
 
-        assertEquals(1, requests.size());
-        assertEquals(1, requests.get(0).getRequester().getId());
+    private static List<Long> ids(List<ItemRequestOutDto> requests) {
+        return requests.stream().map(ItemRequestOutDto::getId).collect(Collectors.toList());
     }
 }
@@ -6,38 +6,40 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exception.InvalidCursorException;
 import ru.practicum.shareit.exception.ItemRequestNotFoundException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestInDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestOutDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
-import ru.practicum.shareit.user.dto.UserMapper;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 public class ItemRequestServiceImplTest {
-
     @Mock
     private ItemRequestRepository repository;
     @Mock
     private UserService userService;
     @Mock
     private ItemRepository itemRepository;
+    @Mock
+    private ItemRequestFeed feed;
     @InjectMocks
     private ItemRequestServiceImpl itemRequestService;
 
@@ -71,37 +73,85 @@ public class ItemRequestServiceImplTest {
     @Test
     public void getUserRequestsWithAnswersSuccessfulTest() {
         long userId = 2;
-        when(userService.findUserById(userId)).thenReturn(UserMapper.toUserDto(requester));
-        when(repository.findByRequesterId(userId)).thenReturn(List.of(itemRequest));
-        lenient().when(itemRepository.getByRequestIdIn(List.of(1L))).thenReturn(List.of(item));
+        ItemRequestOutDto outDto = ItemRequestMapper.toItemRequestOutDtoWithAnswers(itemRequest,
+                List.of(ItemMapper.toItemForRequestDto(item)));
+        when(repository.findPageOfRequester(userId, null, 10)).thenReturn(List.of(outDto));
 
-        List<ItemRequestOutDto> requests = itemRequestService.getUserRequestsWithAnswers(userId);
+        List<ItemRequestOutDto> requests = itemRequestService.getUserRequestsWithAnswers(userId, null, 10);
 
         assertEquals(1, requests.size());
     }
 
+    @Test
+    public void getUserRequestsWithAnswersAfterCursorTest() {
+        long userId = 2;
+        KeysetCursor cursor = new KeysetCursor(created, 5L);
+        when(repository.findPageOfRequester(userId, cursor, 10)).thenReturn(List.of());
+
+        List<ItemRequestOutDto> requests = itemRequestService.getUserRequestsWithAnswers(userId, cursor.encode(), 10);
+
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    public void getUserRequestsWithAnswersFailInvalidCursor() {
+        assertThrows(InvalidCursorException.class,
+                () -> itemRequestService.getUserRequestsWithAnswers(2L, "not a cursor", 10));
+    }
+
     @Test
     public void getUserRequestsWithAnswersFailUserNotFound() {
         long userId = 2;
-        when(userService.findUserById(userId)).thenThrow(new UserNotFoundException(""));
+        doThrow(new UserNotFoundException("")).when(userService).assertUserExists(userId);
 
-        assertThrows(UserNotFoundException.class, () -> itemRequestService.getUserRequestsWithAnswers(userId));
+        assertThrows(UserNotFoundException.class, () -> itemRequestService.getUserRequestsWithAnswers(userId,
+                null, 10));
     }
 
     @Test
     public void getRequestsOfOthersSuccessfulTest() {
         long userId = 1;
-        int from = 0;
-        int size = 10;
-        Sort sort = Sort.by("created").descending();
-        Pageable pageRequest = PageRequest.of(from, size, sort);
-        when(userService.findUserById(userId)).thenReturn(UserMapper.toUserDto(owner));
-        lenient().when(repository.findByRequesterIdNot(userId, pageRequest)).thenReturn(List.of(itemRequest));
-        lenient().when(itemRepository.getByRequestIdIn(List.of(1L))).thenReturn(List.of(item));
+        ItemRequestOutDto outDto = ItemRequestMapper.toItemRequestOutDtoWithAnswers(itemRequest,
+                List.of(ItemMapper.toItemForRequestDto(item)));
+        when(feed.firstPageOf(userId, 10)).thenReturn(Optional.of(List.of(outDto)));
 
-        List<ItemRequestOutDto> requests = itemRequestService.getRequestsOfOthers(userId, from, size);
+        List<ItemRequestOutDto> requests = itemRequestService.getRequestsOfOthers(userId, 0, 10);
 
         assertEquals(1, requests.size());
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    public void getRequestsOfOthersWhenFeedCannotServeThenReadPage() {
+        long userId = 1;
+        when(feed.firstPageOf(userId, 10)).thenReturn(Optional.empty());
+        when(repository.findPageOfOthers(userId, 0, 10)).thenReturn(List.of());
+
+        List<ItemRequestOutDto> requests = itemRequestService.getRequestsOfOthers(userId, 0, 10);
+
+        assertTrue(requests.isEmpty());
+    }
+
+    @Test
+    public void getRequestsOfOthersWhenFromIsGivenThenSkipFeed() {
+        long userId = 1;
+        when(repository.findPageOfOthers(userId, 20, 10)).thenReturn(List.of());
+
+        itemRequestService.getRequestsOfOthers(userId, 2, 10);
+
+        verifyNoInteractions(feed);
+    }
+
+    @Test
+    public void getRequestsOfOthersAfterCursorTest() {
+        long userId = 1;
+        KeysetCursor cursor = new KeysetCursor(created, 5L);
+        when(repository.findPageOfOthersAfter(userId, cursor, 10)).thenReturn(List.of());
+
+        List<ItemRequestOutDto> requests = itemRequestService.getRequestsOfOthers(userId, cursor.encode(), 10);
+
+        assertTrue(requests.isEmpty());
+        verifyNoInteractions(feed);
     }
 
     @Test
@@ -109,7 +159,7 @@ public class ItemRequestServiceImplTest {
         long userId = 1;
         int from = 0;
         int size = 10;
-        when(userService.findUserById(userId)).thenThrow(new UserNotFoundException(""));
+        doThrow(new UserNotFoundException("")).when(userService).assertUserExists(userId);
 
         assertThrows(UserNotFoundException.class, () -> itemRequestService.getRequestsOfOthers(userId, from, size));
     }
@@ -118,9 +168,8 @@ public class ItemRequestServiceImplTest {
     public void getItemRequestSuccessfulTest() {
         long userId = 2;
         long requestId = 1;
-        when(userService.findUserById(userId)).thenReturn(UserMapper.toUserDto(requester));
         when(repository.findById(requestId)).thenReturn(Optional.of(itemRequest));
-        lenient().when(itemRepository.getByRequestIdIn(List.of(requestId))).thenReturn(List.of(item));
+        lenient().when(itemRepository.getByRequestIdInAndDeletedFalse(List.of(requestId))).thenReturn(List.of(item));
 
         ItemRequestOutDto outDto = itemRequestService.getItemRequest(userId, requestId);
 
@@ -132,7 +181,7 @@ public class ItemRequestServiceImplTest {
     public void getItemRequestFailUserNotFound() {
         long userId = 2;
         long requestId = 1;
-        when(userService.findUserById(userId)).thenThrow(new UserNotFoundException(""));
+        doThrow(new UserNotFoundException("")).when(userService).assertUserExists(userId);
 
         assertThrows(UserNotFoundException.class, () -> itemRequestService.getItemRequest(userId, requestId));
     }
@@ -141,7 +190,6 @@ public class ItemRequestServiceImplTest {
     public void getItemRequestFailRequestNotFound() {
         long userId = 2;
         long requestId = 1;
-        when(userService.findUserById(userId)).thenReturn(UserMapper.toUserDto(requester));
         when(repository.findById(requestId)).thenThrow(new ItemRequestNotFoundException(""));
 
         assertThrows(ItemRequestNotFoundException.class, () -> itemRequestService.getItemRequest(userId, requestId));
@@ -9,6 +9,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.pagination.KeysetCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestInDto;
 import ru.practicum.shareit.request.dto.ItemRequestOutDto;
@@ -17,6 +18,7 @@ import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -63,7 +65,7 @@ public class ItemRequestServiceIntegrationTest {
         userRepository.save(owner);
         itemRepository.save(item);
 
-        List<ItemRequestOutDto> dtos = itemRequestService.getUserRequestsWithAnswers(requesterId);
+        List<ItemRequestOutDto> dtos = itemRequestService.getUserRequestsWithAnswers(requesterId, null, 10);
 
         assertEquals(1, dtos.size());
         assertEquals("item", dtos.get(0).getItems().get(0).getName());
@@ -83,6 +85,26 @@ public class ItemRequestServiceIntegrationTest {
         assertEquals("item", dtos.get(0).getItems().get(0).getName());
     }
 
+    @Test
+    public void getRequestsOfOthersSkipsOwnRequestsAndPagesByCursor() {
+        userRepository.save(requester);
+        userRepository.save(owner);
+        repository.save(request);
+        ItemRequest older = repository.save(new ItemRequest(null, "older", requester, request.getCreated()
+                .minusDays(1)));
+        repository.save(new ItemRequest(null, "own", owner, request.getCreated().plusDays(1)));
+
+        List<ItemRequestOutDto> first = itemRequestService.getRequestsOfOthers(owner.getId(), 0, 1);
+        ItemRequestOutDto last = first.get(0);
+        List<ItemRequestOutDto> next = itemRequestService.getRequestsOfOthers(owner.getId(),
+                new KeysetCursor(last.getCreated(), last.getId()).encode(), 10);
+
+        assertEquals(List.of(request.getId()), first.stream().map(ItemRequestOutDto::getId)
+                .collect(Collectors.toList()));
+        assertEquals(List.of(older.getId()), next.stream().map(ItemRequestOutDto::getId)
+                .collect(Collectors.toList()));
+    }
+
     @Test
     public void getItemRequestTest() {
         long userId = 1;
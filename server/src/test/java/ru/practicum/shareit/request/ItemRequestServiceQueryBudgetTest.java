@@ -0,0 +1,41 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.request.dto.ItemRequestInDto;
+import ru.practicum.shareit.support.QueryBudgetTest;
+
+class ItemRequestServiceQueryBudgetTest extends QueryBudgetTest {
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    @Test
+    void create() {
+        queryCounter.assertAtMost(2, () -> itemRequestService.create(new ItemRequestInDto("need a drill"),
+                requester.getId()));
+    }
+
+    @Test
+    void getUserRequestsWithAnswers() {
+        queryCounter.assertAtMost(2, () -> itemRequestService.getUserRequestsWithAnswers(requester.getId(), null,
+                10));
+    }
+
+    @Test
+    void getRequestsOfOthers() {
+        queryCounter.assertAtMost(2, () -> itemRequestService.getRequestsOfOthers(owner.getId(), 0, 10));
+        queryCounter.assertAtMost(0, () -> itemRequestService.getRequestsOfOthers(owner.getId(), 0, 10));
+    }
+
+    @Test
+    void getItemRequest() {
+        queryCounter.assertAtMost(3, () -> itemRequestService.getItemRequest(owner.getId(),
+                requests.get(0).getId()));
+    }
+
+    @Test
+    void findRequestById() {
+        queryCounter.assertAtMost(1, () -> itemRequestService.findRequestById(requests.get(0).getId()));
+    }
+}
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.CommentRepository;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base for tests that put a statement budget on service calls. The fixture gives every booking a different
+ * item/booker combination so that per-entity fetches show up in the count. The context is shared by all budget
+ * tests; the tables are emptied after each test instead of rebuilding it.
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase
+@Import(QueryCountConfiguration.class)
+public abstract class QueryBudgetTest {
+
+    @Autowired
+    protected QueryCounter queryCounter;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    protected UserRepository userRepository;
+    @Autowired
+    protected ItemRequestRepository requestRepository;
+    @Autowired
+    protected ItemRepository itemRepository;
+    @Autowired
+    protected BookingRepository bookingRepository;
+    @Autowired
+    protected CommentRepository commentRepository;
+
+    protected User owner;
+    protected User booker;
+    protected User otherBooker;
+    protected User requester;
+    protected List<ItemRequest> requests = new ArrayList<>();
+    protected List<Item> items = new ArrayList<>();
+    protected List<Booking> bookings = new ArrayList<>();
+    protected LocalDateTime now;
+
+    @BeforeEach
+    public void createFixture() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        owner = userRepository.save(new User(null, "owner", "owner@mail.ru"));
+        booker = userRepository.save(new User(null, "booker", "booker@mail.ru"));
+        otherBooker = userRepository.save(new User(null, "other", "other@mail.ru"));
+        requester = userRepository.save(new User(null, "requester", "requester@mail.ru"));
+        for (int i = 0; i < 3; i++) {
+            ItemRequest request = requestRepository.save(new ItemRequest(null, "request " + i, requester,
+                    now.minusDays(i)));
+            requests.add(request);
+            items.add(itemRepository.save(new Item(null, "item " + i, "description " + i, true, owner, request)));
+        }
+        for (Item item : items) {
+            bookings.add(booking(item, booker, now.minusDays(3), BookingStatus.APPROVED));
+            bookings.add(booking(item, otherBooker, now.plusDays(1), BookingStatus.APPROVED));
+            bookings.add(booking(item, booker, now.plusDays(3), BookingStatus.WAITING));
+            commentRepository.save(new Comment(null, "comment", item, booker, now.minusDays(1)));
+        }
+        queryCounter.reset();
+    }
+
+    @AfterEach
+    public void deleteFixture() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "comments", "item_booking_pointers", "bookings",
+                "item_import_rows", "items", "requests", "users");
+    }
+
+    private Booking booking(Item item, User user, LocalDateTime start, BookingStatus status) {
+        return bookingRepository.save(new Booking(null, start, start.plusDays(1), item, user, status));
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.support;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+@TestConfiguration
+public class QueryCountConfiguration {
+
+    private static final QueryCounter COUNTER = new QueryCounter();
+
+    @Bean
+    public QueryCounter queryCounter() {
+        return COUNTER;
+    }
+
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource) {
+                    return ProxyDataSourceBuilder.create((DataSource) bean)
+                            .name(beanName)
+                            .listener(COUNTER)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
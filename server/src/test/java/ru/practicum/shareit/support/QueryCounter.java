@@ -0,0 +1,58 @@
+package ru.practicum.shareit.support;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Counts statements sent through the proxied data source by the thread that last reset it, so that scheduled jobs
+ * running meanwhile are left out. A batch counts as one round trip.
+ */
+public class QueryCounter implements QueryExecutionListener {
+
+    private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+    private volatile Thread countedThread;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (Thread.currentThread() == countedThread) {
+            statements.add(queryInfoList.get(0).getQuery());
+        }
+    }
+
+    public void reset() {
+        countedThread = Thread.currentThread();
+        statements.clear();
+    }
+
+    public int count() {
+        return statements.size();
+    }
+
+    public <T> T assertAtMost(int budget, Supplier<T> call) {
+        reset();
+        T result = call.get();
+        List<String> issued = List.copyOf(statements);
+        assertTrue(issued.size() <= budget, () -> "Expected at most " + budget + " statements but got "
+                + issued.size() + ":\n" + String.join("\n", issued));
+        return result;
+    }
+
+    public void assertAtMost(int budget, Runnable call) {
+        assertAtMost(budget, () -> {
+            call.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserCache cache = new UserCache(new UserProperties(), meterRegistry);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Optional<UserDto> load(Long id) {
+        loads.incrementAndGet();
+        if (id != 1L) {
+            return Optional.empty();
+        }
+        return Optional.of(UserDto.builder().id(1L).name("test").email("test@ya.ru").build());
+    }
+
+    @Test
+    void getLoadsOnceAndReturnsCopies() {
+        cache.get(1L, this::load).orElseThrow().setName("changed");
+
+        assertEquals("test", cache.get(1L, this::load).orElseThrow().getName());
+        assertEquals(1, loads.get());
+        assertEquals(1, meterRegistry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void getRemembersMissingIdsUntilInvalidated() {
+        assertTrue(cache.get(2L, this::load).isEmpty());
+        assertTrue(cache.get(2L, this::load).isEmpty());
+        assertEquals(1, loads.get());
+
+        cache.invalidate(2L);
+        cache.get(2L, this::load);
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -15,6 +15,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = UserController.class)
@@ -50,20 +51,33 @@ public class UserControllerTest {
 
     @SneakyThrows
     @Test
-    public void testGetAllUsers() {
+    public void testGetUsers() {
         List<UserDto> dtos = List.of(userDto);
-        when(userService.getAllUsers()).thenReturn(dtos);
+        when(userService.getUsers(0L, 10)).thenReturn(dtos);
 
         String result = mockMvc.perform(get("/users"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(UserController.NEXT_AFTER_ID_HEADER))
                 .andReturn()
                 .getResponse()
                 .getContentAsString();
 
-        verify(userService).getAllUsers();
+        verify(userService).getUsers(0L, 10);
         assertEquals(objectMapper.writeValueAsString(dtos), result);
     }
 
+    @SneakyThrows
+    @Test
+    public void testGetUsersWhenPageIsFullThenReturnNextAfterId() {
+        when(userService.getUsers(5L, 1)).thenReturn(List.of(userDto));
+
+        mockMvc.perform(get("/users")
+                        .param("afterId", "5")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(UserController.NEXT_AFTER_ID_HEADER, String.valueOf(userDto.getId())));
+    }
+
     @SneakyThrows
     @Test
     public void testUpdateUserSuccess() {
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserEmailFilterTest {
+
+    @Test
+    void bloomFilterHasNoFalseNegativesAndFewFalsePositives() {
+        UserEmailFilter.BloomFilter filter = new UserEmailFilter.BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user" + i + "@mail.ru");
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("USER" + i + "@mail.ru"));
+            if (filter.mightContain("other" + i + "@mail.ru")) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 300, "False positives: " + falsePositives);
+    }
+}
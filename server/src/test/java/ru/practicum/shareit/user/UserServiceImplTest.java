@@ -1,21 +1,28 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.exception.EmailConflictException;
 import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.UserValidationException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserMapper;
 
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,13 +30,17 @@ public class UserServiceImplTest {
 
     @Mock
     private UserRepository userRepository;
+    @Mock
+    private UserEmailFilter emailFilter;
+    @Spy
+    private UserCache userCache = new UserCache(new UserProperties(), new SimpleMeterRegistry());
     @InjectMocks
     private UserServiceImpl userService;
     private final User user = new User(1L, "test", "test@ya.ru");
 
     @Test
     void findUserByIdWhenUserFoundThenReturnedUserDto() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findActiveById(1L)).thenReturn(Optional.of(user));
 
         UserDto result = userService.findUserById(1L);
         UserDto expectedResult = UserMapper.toUserDto(user);
@@ -39,7 +50,7 @@ public class UserServiceImplTest {
 
     @Test
     void findUserByIdWhenUserNotFoundThenUserNotFoundExceptionThrown() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userRepository.findActiveById(1L)).thenReturn(Optional.empty());
 
         assertThrows(UserNotFoundException.class, () -> userService.findUserById(1L));
     }
@@ -50,32 +61,31 @@ public class UserServiceImplTest {
         expectedUserDto.setId(1L);
         UserDto userDtoToCreate = UserMapper.toUserDto(user);
 
-        when(userRepository.save(user)).thenReturn(user);
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
 
         UserDto result = userService.create(userDtoToCreate);
 
         assertEquals(expectedUserDto, result);
-        verify(userRepository).save(user);
+        verify(userRepository).saveAndFlush(user);
     }
 
     @Test
     void createNewUserFailedThenThrowUserValidationException() {
         UserDto userDto = UserMapper.toUserDto(user);
-        when(userRepository.save(user)).thenThrow(new UserValidationException("Email must not be null"));
+        when(userRepository.saveAndFlush(user)).thenThrow(new UserValidationException("Email must not be null"));
 
         assertThrows(UserValidationException.class, () -> userService.create(userDto));
     }
 
     @Test
-    void getAllUsersSuccessfulThenReturnListOfUser() {
+    void getUsersSuccessfulThenReturnListOfUser() {
         List<UserDto> userDtos = UserMapper.mapToUserDto(List.of(user));
 
-        when(userRepository.findAll()).thenReturn(List.of(user));
+        when(userRepository.streamByIdAfter(0L, PageRequest.of(0, 10))).thenReturn(Stream.of(user));
 
-        List<UserDto> result = userService.getAllUsers();
+        List<UserDto> result = userService.getUsers(0L, 10);
 
         assertEquals(userDtos, result);
-        verify(userRepository).findAll();
     }
 
     @Test
@@ -87,13 +97,13 @@ public class UserServiceImplTest {
                 .build();
         User userUpdated = new User(1L, "name", "testEmail@ya.ru");
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.save(userUpdated)).thenReturn(userUpdated);
+        when(userRepository.findActiveById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.saveAndFlush(userUpdated)).thenReturn(userUpdated);
 
         UserDto result = userService.update(userUpdate, 1L);
 
         assertEquals(userUpdate, result);
-        verify(userRepository).save(UserMapper.toUser(userUpdate));
+        verify(userRepository).saveAndFlush(UserMapper.toUser(userUpdate));
     }
 
     @Test
@@ -102,9 +112,45 @@ public class UserServiceImplTest {
                 .id(1L)
                 .build();
 
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findActiveById(1L)).thenReturn(Optional.of(user));
+
+        assertThrows(EmailConflictException.class, () -> userService.update(userUpdate, 1L));
+        verify(userRepository, never()).saveAndFlush(UserMapper.toUser(userUpdate));
+    }
+
+    @Test
+    void updateWithEmailOfOtherUserThenThrowEmailConflictException() {
+        UserDto userUpdate = UserDto.builder()
+                .name("name")
+                .email("Taken@ya.ru")
+                .build();
+
+        when(userRepository.findActiveById(1L)).thenReturn(Optional.of(user));
+        when(emailFilter.mightContain("Taken@ya.ru")).thenReturn(true);
+        when(userRepository.existsByEmailIgnoreCase("Taken@ya.ru")).thenReturn(true);
 
         assertThrows(EmailConflictException.class, () -> userService.update(userUpdate, 1L));
-        verify(userRepository, never()).save(UserMapper.toUser(userUpdate));
+        verify(userRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void createWithEmailMissingFromFilterSkipsDatabaseCheck() {
+        when(emailFilter.mightContain(user.getEmail())).thenReturn(false);
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
+
+        userService.create(UserMapper.toUserDto(user));
+
+        verify(userRepository, never()).existsByEmailIgnoreCase(any());
+        verify(emailFilter).add(user.getEmail());
+    }
+
+    @Test
+    void createWhenUniqueConstraintViolatedThenThrowEmailConflictException() {
+        when(emailFilter.mightContain(user.getEmail())).thenReturn(true);
+        when(userRepository.existsByEmailIgnoreCase(user.getEmail())).thenReturn(false);
+        when(userRepository.saveAndFlush(user)).thenThrow(new DataIntegrityViolationException("uq_user_email",
+                new SQLException("duplicate key", "23505")));
+
+        assertThrows(EmailConflictException.class, () -> userService.create(UserMapper.toUserDto(user)));
     }
 }
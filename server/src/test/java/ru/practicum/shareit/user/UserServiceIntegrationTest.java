@@ -5,12 +5,17 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exception.EmailConflictException;
+import ru.practicum.shareit.exception.UserNotFoundException;
 import ru.practicum.shareit.exception.UserValidationException;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,27 +29,49 @@ public class UserServiceIntegrationTest {
     private final UserRepository userRepository;
 
     @Test
-    void getAllUsersWhenDbIsEmptyThenReturnEmptyList() {
+    void getUsersWhenDbIsEmptyThenReturnEmptyList() {
 
-        List<UserDto> result = userService.getAllUsers();
+        List<UserDto> result = userService.getUsers(0L, 10);
 
         assertTrue(result.isEmpty());
     }
 
     @Test
-    void getAllUsersWhenDbHasTwoUsersThenReturnList() {
+    void getUsersWhenDbHasTwoUsersThenReturnList() {
         User user1 = new User(0L, "user1", "one@ru");
         User user2 = new User(0L, "user2", "two@ru");
         userRepository.save(user1);
         userRepository.save(user2);
 
-        List<UserDto> result = userService.getAllUsers();
+        List<UserDto> result = userService.getUsers(0L, 10);
 
         assertEquals(2, result.size());
         assertEquals(1, result.get(0).getId());
         assertEquals(2, result.get(1).getId());
     }
 
+    @Test
+    void getUsersAfterIdReturnsNextPage() {
+        for (int i = 1; i <= 5; i++) {
+            userRepository.save(new User(0L, "user" + i, i + "@ru"));
+        }
+
+        List<UserDto> result = userService.getUsers(2L, 2);
+
+        assertEquals(List.of(3L, 4L), result.stream().map(UserDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void exportUsersWritesOneUserPerLine() throws IOException {
+        userRepository.save(new User(0L, "user1", "one@ru"));
+        userRepository.save(new User(0L, "user2", "two@ru"));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        userService.exportUsers(1L, out);
+
+        assertEquals("{\"id\":2,\"name\":\"user2\",\"email\":\"two@ru\"}\n", out.toString(StandardCharsets.UTF_8));
+    }
+
     @Test
     void createUserWhenUserHasSameEmailThenConflictException() {
         User user = new User(0L, "user", "test@ru");
@@ -54,7 +81,34 @@ public class UserServiceIntegrationTest {
                 .email("test@ru")
                 .build();
 
-        assertThrows(DataIntegrityViolationException.class, () -> userService.create(userDto));
+        assertThrows(EmailConflictException.class, () -> userService.create(userDto));
+    }
+
+    @Test
+    void updateUserWithEmailOfOtherUserInOtherCaseThenConflictException() {
+        userService.create(UserDto.builder()
+                .name("user")
+                .email("test@ru")
+                .build());
+        UserDto other = userService.create(UserDto.builder()
+                .name("other")
+                .email("other@ru")
+                .build());
+        UserDto userUpdate = UserDto.builder()
+                .email("TEST@ru")
+                .build();
+
+        assertThrows(EmailConflictException.class, () -> userService.update(userUpdate, other.getId()));
+    }
+
+    @Test
+    void updateUserEmailCaseOfOwnEmailThenReturnUpdatedUserDto() {
+        userRepository.save(new User(0L, "user", "test@ru"));
+        UserDto userUpdate = UserDto.builder()
+                .email("Test@ru")
+                .build();
+
+        assertEquals("Test@ru", userService.update(userUpdate, 1L).getEmail());
     }
 
     @Test
@@ -98,16 +152,17 @@ public class UserServiceIntegrationTest {
     }
 
     @Test
-    void deleteUserThenBdIsEmpty() {
+    void deleteUserThenUserIsNotFound() {
         User user = new User(0L, "userOld", "old@ru");
 
         userRepository.save(user);
-
-        assertEquals(1, userRepository.findAll().size());
+        userService.findUserById(1L);
 
         userService.delete(1L);
 
-        assertTrue(userRepository.findAll().isEmpty());
+        assertThrows(UserNotFoundException.class, () -> userService.findUserById(1L));
+        assertTrue(userService.getUsers(0L, 10).isEmpty());
+        assertThrows(UserNotFoundException.class, () -> userService.delete(1L));
     }
 
     @Test